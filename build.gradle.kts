@@ -2,6 +2,7 @@ plugins {
     kotlin("jvm") version "2.2.0"
     id("java")
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "dev.nautchkafe.vanish"
@@ -28,6 +29,12 @@ dependencies {
     testImplementation("org.mockito.kotlin:mockito-kotlin:5.4.0")
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 tasks {
     shadowJar {
         archiveBaseName.set("countdown-plugin")
@@ -0,0 +1,54 @@
+package dev.nautchkafe.countdown;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures alert resolution throughput of {@link CountdownAlertMapper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CountdownAlertMapperBenchmark {
+
+    private CountdownAlertMapper<String> mapper;
+    private long secondsLeft;
+
+    @Setup
+    public void setUp() {
+        final Map<Duration, Consumer<String>> alerts = new HashMap<>();
+        for (final long seconds : new long[] {60, 30, 10, 5, 4, 3, 2, 1}) {
+            alerts.put(Duration.ofSeconds(seconds), id -> {});
+        }
+
+        this.mapper = CountdownAlertMapper.fromDurations(alerts);
+    }
+
+    @Benchmark
+    public Consumer<String> resolve() {
+        secondsLeft = secondsLeft == 0 ? 120 : secondsLeft - 1;
+        return mapper.resolve(secondsLeft);
+    }
+
+    @Benchmark
+    public void tickFullPhase(final Blackhole blackhole) {
+        final CountdownTicker ticker = mapper.toCountdownTicker().fork();
+        for (long ticksLeft = 1_200; ticksLeft >= 0; ticksLeft--) {
+            ticker.apply("benchmark", ticksLeft / 20, ticksLeft);
+        }
+
+        blackhole.consume(ticker);
+    }
+}
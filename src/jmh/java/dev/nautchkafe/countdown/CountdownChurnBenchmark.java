@@ -0,0 +1,56 @@
+package dev.nautchkafe.countdown;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures start and cancel churn through {@link CountdownTimer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CountdownChurnBenchmark {
+
+    private static final int TICK_EVERY = 1_024;
+
+    private VirtualCountdownClock clock;
+    private CountdownTimer timer;
+    private List<CountdownPhase> phases;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.clock = new VirtualCountdownClock();
+        this.timer = new CountdownTimer(new CountdownScheduler(
+            clock, event -> {}, Logger.getLogger("countdown-benchmark"), 1, false));
+        this.phases = List.of(new CountdownPhase(Duration.ofMinutes(1), (id, sec, ticks) -> {}));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Benchmark
+    public void startCancel() {
+        final String countdownId = "churn-" + (sequence++ & 0xFFFF);
+        timer.startPhasedCountdown(countdownId, phases, (id, end) -> {}, id -> {});
+        timer.cancel(countdownId);
+
+        if ((sequence & (TICK_EVERY - 1)) == 0) {
+            clock.advance(1);
+        }
+    }
+}
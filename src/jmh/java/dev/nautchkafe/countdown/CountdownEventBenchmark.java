@@ -0,0 +1,51 @@
+package dev.nautchkafe.countdown;
+
+import dev.nautchkafe.countdown.event.CountdownCloseEvent;
+import dev.nautchkafe.countdown.event.CountdownStartEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fan-out of lifecycle events through the {@link CountdownEventPipeline}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CountdownEventBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int transitions;
+
+    @Param({"false", "true"})
+    public boolean aggregate;
+
+    private VirtualCountdownClock clock;
+    private CountdownEventPipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        this.clock = new VirtualCountdownClock();
+        this.pipeline = new CountdownEventPipeline(clock, CountdownEventSink.of(event -> {}), aggregate,
+            new CountdownMetrics());
+    }
+
+    @Benchmark
+    public void publishAndDeliver() {
+        for (int index = 0; index < transitions; index++) {
+            final String countdownId = "countdown-" + index;
+            pipeline.publish(new CountdownStartEvent(countdownId));
+            pipeline.publish(new CountdownCloseEvent(countdownId));
+        }
+
+        pipeline.flush();
+        clock.runMainThreadTasks();
+    }
+}
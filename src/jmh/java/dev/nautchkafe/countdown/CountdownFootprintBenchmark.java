@@ -0,0 +1,109 @@
+package dev.nautchkafe.countdown;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Measures the heap retained per active countdown, either with phases and an alert schedule built for
+ * every countdown or with one interned {@link CountdownPlan} shared by all of them.
+ * The result is reported in the {@code bytesPerCountdown} secondary metric.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CountdownFootprintBenchmark {
+
+    private static final int COUNTDOWNS = 100_000;
+
+    @Param({"phases", "plan"})
+    public String shape;
+
+    private VirtualCountdownClock clock;
+    private CountdownTimer timer;
+    private String[] countdownIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.clock = new VirtualCountdownClock();
+        this.timer = new CountdownTimer(new CountdownScheduler(
+            clock, event -> {}, Logger.getLogger("countdown-benchmark"), 1, false));
+        this.countdownIds = new String[COUNTDOWNS];
+        for (int index = 0; index < COUNTDOWNS; index++) {
+            countdownIds[index] = "countdown-" + index;
+        }
+
+        clock.advance(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Benchmark
+    public void start(final Footprint footprint) {
+        final long before = usedHeap();
+        if (shape.equals("plan")) {
+            final CountdownPlan plan = timer.plan("arena", CountdownFootprintBenchmark::phases);
+            for (final String countdownId : countdownIds) {
+                timer.startPhasedCountdown(countdownId, plan, (id, end) -> {}, id -> {});
+            }
+        } else {
+            for (final String countdownId : countdownIds) {
+                timer.startPhasedCountdown(countdownId, phases(), (id, end) -> {}, id -> {});
+            }
+        }
+
+        clock.advance(1);
+        footprint.bytesPerCountdown = (usedHeap() - before) / COUNTDOWNS;
+    }
+
+    private static List<CountdownPhase> phases() {
+        final CountdownAlertMapper<String> alerts = CountdownAlertMapper.fromDurations(Map.of(
+            Duration.ofSeconds(10), (Consumer<String>) id -> {},
+            Duration.ofSeconds(5), (Consumer<String>) id -> {}));
+
+        return List.of(
+            new CountdownPhase(Duration.ofMinutes(5), alerts.toCountdownTicker(), alerts.toCadence()),
+            new CountdownPhase(Duration.ofMinutes(5), (id, sec, ticks) -> {}, CountdownCadence.everySecond()));
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int round = 0; round < 3; round++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * The secondary metric reporting the retained heap.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerCountdown;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.nautchkafe.countdown;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures the cost of one engine tick with a given number of active countdowns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CountdownTickBenchmark {
+
+    @Param({"1", "1000", "10000", "100000"})
+    public int countdowns;
+
+    @Param({"tick", "second"})
+    public String cadence;
+
+    private VirtualCountdownClock clock;
+    private CountdownTimer timer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.clock = new VirtualCountdownClock();
+        this.timer = new CountdownTimer(new CountdownScheduler(
+            clock, event -> {}, Logger.getLogger("countdown-benchmark"), 1, false));
+
+        final CountdownCadence phaseCadence = cadence.equals("tick")
+            ? CountdownCadence.everyTick()
+            : CountdownCadence.everySecond();
+        final CountdownPhase phase = new CountdownPhase(Duration.ofDays(1), (id, sec, ticks) -> {}, phaseCadence);
+
+        for (int index = 0; index < countdowns; index++) {
+            timer.startPhasedCountdown("countdown-" + index, List.of(phase), (id, end) -> {}, id -> {});
+        }
+
+        clock.advance(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Benchmark
+    public void tick() {
+        clock.advance(1);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.nautchkafe.countdown;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link CountdownClock} backed by the Bukkit scheduler.
+ * Every tick callback is driven by its own asynchronous Bukkit timer, and main-thread work
+ * is submitted as a regular synchronous task.
+ */
+final class BukkitCountdownClock implements CountdownClock {
+
+    private final Server server;
+    private final Plugin plugin;
+    private final List<BukkitTask> timers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a clock scheduling through the given server on behalf of the given plugin.
+     *
+     * @param server the server providing the scheduler
+     * @param plugin the plugin owning the scheduled tasks
+     */
+    BukkitCountdownClock(final Server server, final Plugin plugin) {
+        this.server = server;
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onTick(final Runnable tick) {
+        timers.add(server.getScheduler().runTaskTimerAsynchronously(plugin, tick, 1L, 1L));
+    }
+
+    @Override
+    public void runOnMainThread(final Runnable task) {
+        server.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stop() {
+        for (final BukkitTask timer : timers) {
+            timer.cancel();
+        }
+
+        timers.clear();
+    }
+}
@@ -1,45 +1,62 @@
 package dev.nautchkafe.countdown;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * A utility class that maps countdown durations to corresponding actions.
- * The countdown action is triggered based on the remaining seconds.
+ * The countdown action is triggered based on the remaining time.
+ *
+ * <p>The mapping is compiled once into a primitive schedule: a sorted {@code long[]} of tick offsets
+ * with the matching actions alongside. Each running phase walks that schedule with its own cursor,
+ * so every alert fires exactly once, on the tick it is due, without boxing or hashing.</p>
  *
  * @param <TYPE> The type of the object passed to the consumer when the countdown reaches a specific duration.
  */
 final class CountdownAlertMapper<TYPE> {
 
-    private final Map<Long, Consumer<TYPE>> secondsMap;
+    private static final long MILLIS_PER_TICK = 50L;
+    private static final long TICKS_PER_SECOND = 20L;
     private static final Consumer<Object> NO_OP = empty -> {};
 
+    private final long[] ticks;
+    private final Consumer<TYPE>[] actions;
+
     /**
      * Private constructor for creating an instance of {@code CountdownAlertMapper}.
      *
-     * @param secondsMap A map where keys are seconds (long) and values are consumers handling the given type.
+     * @param ticks   the alert offsets in ticks left, sorted in ascending order
+     * @param actions the actions matching each offset
      */
-    private CountdownAlertMapper(final Map<Long, Consumer<TYPE>> secondsMap) {
-        this.secondsMap = secondsMap;
+    private CountdownAlertMapper(final long[] ticks, final Consumer<TYPE>[] actions) {
+        this.ticks = ticks;
+        this.actions = actions;
     }
 
     /**
      * Creates a {@code CountdownAlertMapper} from a map of {@code Duration} to corresponding actions.
+     * Durations are kept at tick precision, so sub-second alerts are preserved.
      *
      * @param input A map where keys are durations and values are consumer actions to be executed when
      *              the specified duration is reached.
      * @param <TYPE> The type of the object being consumed.
      * @return A new instance of {@code CountdownAlertMapper}.
      */
+    @SuppressWarnings("unchecked")
     public static <TYPE> CountdownAlertMapper<TYPE> fromDurations(final Map<Duration, Consumer<TYPE>> input) {
-        return new CountdownAlertMapper<>(input.entrySet()
-            .stream()
-            .collect(Collectors.toMap(
-                e -> e.getKey().getSeconds(),
-                Map.Entry::getValue
-            )));
+        final Map.Entry<Duration, Consumer<TYPE>>[] entries = input.entrySet().toArray(Map.Entry[]::new);
+        Arrays.sort(entries, Map.Entry.comparingByKey());
+
+        final long[] ticks = new long[entries.length];
+        final Consumer<TYPE>[] actions = (Consumer<TYPE>[]) new Consumer<?>[entries.length];
+        for (int index = 0; index < entries.length; index++) {
+            ticks[index] = entries[index].getKey().toMillis() / MILLIS_PER_TICK;
+            actions[index] = entries[index].getValue();
+        }
+
+        return new CountdownAlertMapper<>(ticks, actions);
     }
 
     /**
@@ -48,16 +65,78 @@ final class CountdownAlertMapper<TYPE> {
      * @param secondsLeft The amount of seconds left.
      * @return The corresponding consumer action, or a no-operation action if no match is found.
      */
+    @SuppressWarnings("unchecked")
     Consumer<TYPE> resolve(final long secondsLeft) {
-        return secondsMap.getOrDefault(secondsLeft, NO_OP);
+        final int index = Arrays.binarySearch(ticks, secondsLeft * TICKS_PER_SECOND);
+        return index >= 0 ? actions[index] : (Consumer<TYPE>) NO_OP;
     }
 
     /**
      * Converts this mapper to a countdown ticker capable of executing countdown actions.
+     * The ticker is meant for mappers whose actions consume the countdown ID.
      *
-     * @return A {@code CountdownTicker} that triggers actions based on the remaining seconds.
+     * @return A {@code CountdownTicker} that triggers each action once its tick offset is reached.
      */
     CountdownTicker toCountdownTicker() {
-        return (countdownId, sec, ticks) -> resolve(sec).accept(countdownId);
+        return new AlertTicker(-1);
+    }
+
+    /**
+     * Returns a cadence waking a phase only on the ticks this mapper has alerts for.
+     * Pairing it with {@link #toCountdownTicker()} skips every tick without an alert.
+     *
+     * @return a milestone cadence over the compiled schedule
+     */
+    CountdownCadence toCadence() {
+        return CountdownCadence.milestones(ticks);
+    }
+
+    /**
+     * A ticker walking the compiled schedule from the furthest alert towards zero.
+     * Each fork carries the cursor of one phase run; the shared instance, when applied directly,
+     * falls back to an exact lookup of the current tick.
+     */
+    private final class AlertTicker implements CountdownTicker {
+
+        private int cursor;
+
+        private AlertTicker(final int cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public CountdownTicker fork() {
+            return new AlertTicker(ticks.length);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void apply(final String countdownId, final long secondsLeft, final long ticksLeft) {
+            if (cursor < 0) {
+                final int index = Arrays.binarySearch(ticks, ticksLeft);
+                if (index >= 0) {
+                    ((Consumer<Object>) actions[index]).accept(countdownId);
+                }
+
+                return;
+            }
+
+            if (cursor == ticks.length) {
+                cursor = upperBound(ticksLeft);
+            }
+
+            while (cursor > 0 && ticks[cursor - 1] >= ticksLeft) {
+                ((Consumer<Object>) actions[--cursor]).accept(countdownId);
+            }
+        }
+
+        private int upperBound(final long ticksLeft) {
+            int index = ticks.length;
+            while (index > 0 && ticks[index - 1] > ticksLeft) {
+                index--;
+            }
+
+            return index;
+        }
     }
 }
@@ -0,0 +1,19 @@
+package dev.nautchkafe.countdown;
+
+import net.kyori.adventure.audience.Audience;
+
+/**
+ * A functional interface resolving who sees the display of a countdown.
+ */
+@FunctionalInterface
+interface CountdownAudience {
+
+    /**
+     * Returns the viewers of the given countdown. Many players are best returned as one
+     * {@link Audience#audience(Iterable) forwarding audience}, so a rendered component is sent to all of them at once.
+     *
+     * @param countdownId the identifier of the countdown
+     * @return the viewers of the countdown
+     */
+    Audience resolve(final String countdownId);
+}
@@ -0,0 +1,20 @@
+package dev.nautchkafe.countdown;
+
+import java.util.List;
+
+/**
+ * A record binding a recovered countdown back to the behaviour that cannot be persisted:
+ * the tickers and cadences of its phases and its completion and cancel callbacks.
+ * Phase durations are ignored, the recovered plan and deadlines take precedence.
+ */
+record CountdownBinding(
+    CountdownPlan plan,
+    CountdownCompletion onComplete,
+    CountdownCancel onCancel
+) {
+
+    CountdownBinding(final List<CountdownPhase> phases, final CountdownCompletion onComplete,
+            final CountdownCancel onCancel) {
+        this(CountdownPlan.of(phases), onComplete, onCancel);
+    }
+}
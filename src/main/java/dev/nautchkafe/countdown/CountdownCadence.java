@@ -0,0 +1,87 @@
+package dev.nautchkafe.countdown;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * A functional interface describing when the {@link CountdownTicker} of a phase is invoked.
+ *
+ * <p>A cadence maps the ticks left in a phase to the next edge below it. The engine sleeps the phase
+ * until that edge instead of waking it every tick, so ticks between edges cost nothing at all.</p>
+ */
+@FunctionalInterface
+interface CountdownCadence {
+
+    long TICKS_PER_SECOND = 20L;
+
+    /**
+     * Returns the ticks-left value of the next edge strictly below the given one.
+     *
+     * @param ticksLeft the ticks left in the phase
+     * @return the ticks left at the next edge, or a negative value if no edge remains
+     */
+    long next(final long ticksLeft);
+
+    /**
+     * Invokes the ticker on every tick.
+     *
+     * @return a cadence firing on every tick
+     */
+    static CountdownCadence everyTick() {
+        return ticksLeft -> ticksLeft - 1;
+    }
+
+    /**
+     * Invokes the ticker on whole-second boundaries of the remaining time.
+     *
+     * @return a cadence firing once per second
+     */
+    static CountdownCadence everySecond() {
+        return everyTicks(TICKS_PER_SECOND);
+    }
+
+    /**
+     * Invokes the ticker whenever the ticks left are a multiple of the given period.
+     *
+     * @param period the number of ticks between two edges
+     * @return a cadence firing every {@code period} ticks
+     */
+    static CountdownCadence everyTicks(final long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Cadence period must be positive: " + period);
+        }
+
+        return ticksLeft -> Math.floorDiv(ticksLeft - 1, period) * period;
+    }
+
+    /**
+     * Invokes the ticker only when one of the given amounts of time is left.
+     *
+     * @param milestones the remaining durations at which the ticker fires
+     * @return a cadence firing at each milestone
+     */
+    static CountdownCadence milestones(final Duration... milestones) {
+        final long[] ticks = new long[milestones.length];
+        for (int index = 0; index < milestones.length; index++) {
+            ticks[index] = milestones[index].toMillis() / 50;
+        }
+
+        return milestones(ticks);
+    }
+
+    /**
+     * Invokes the ticker only when one of the given tick counts is left.
+     *
+     * @param ticks the ticks left at which the ticker fires
+     * @return a cadence firing at each milestone
+     */
+    static CountdownCadence milestones(final long... ticks) {
+        final long[] sorted = Arrays.stream(ticks).distinct().sorted().toArray();
+
+        return ticksLeft -> {
+            final int index = Arrays.binarySearch(sorted, ticksLeft);
+            final int below = (index >= 0 ? index : -index - 1) - 1;
+            return below >= 0 ? sorted[below] : -1L;
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package dev.nautchkafe.countdown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking completion and cancel callbacks on virtual threads, off the main and engine threads.
+ *
+ * <p>Every {@link CountdownTimer} owns one executor and shuts it down with itself. The executor is opt-in per
+ * countdown: only the callbacks of countdowns started in {@link CountdownCallbackMode#BLOCKING} mode are wrapped
+ * with {@link #completion(CountdownCompletion)} and {@link #cancel(CountdownCancel)} and moved.
+ * The wrapper only hands the callback over, so the engine sees it return at once and the callback guard never
+ * quarantines it, however long the I/O behind it takes.</p>
+ *
+ * <p>Every callback gets its own virtual thread, but at most {@code maxConcurrency} run at a time, so a burst
+ * of thousands of completions does not open thousands of database connections; the rest wait parked, which
+ * costs a few hundred bytes each. At most {@code maxQueued} callbacks may wait: beyond that the executor
+ * applies back-pressure by rejecting the callback, logging the countdown ID and counting the rejection,
+ * rather than growing without bound or blocking the thread that completed the countdown.</p>
+ */
+final class CountdownCallbackExecutor {
+
+    private final Semaphore permits;
+    private final int capacity;
+    private final Logger logger;
+    private final ExecutorService threads;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Constructs an executor.
+     *
+     * @param maxConcurrency the number of callbacks that may run at the same time
+     * @param maxQueued the number of callbacks that may wait for a free slot
+     * @param logger the logger used to report failing and rejected callbacks
+     */
+    CountdownCallbackExecutor(final int maxConcurrency, final int maxQueued, final Logger logger) {
+        if (maxConcurrency <= 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("Invalid callback limits: " + maxConcurrency + " running, "
+                + maxQueued + " queued");
+        }
+
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.capacity = maxConcurrency + maxQueued;
+        this.logger = logger;
+        this.threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("countdown-callback-", 0).factory());
+    }
+
+    /**
+     * Wraps a completion callback to run on this executor.
+     *
+     * @param onComplete the blocking completion callback
+     * @return a completion callback returning immediately
+     */
+    CountdownCompletion completion(final CountdownCompletion onComplete) {
+        return (countdownId, endTime) -> submit(countdownId, () -> onComplete.accept(countdownId, endTime));
+    }
+
+    /**
+     * Wraps a cancel callback to run on this executor.
+     *
+     * @param onCancel the blocking cancel callback
+     * @return a cancel callback returning immediately
+     */
+    CountdownCancel cancel(final CountdownCancel onCancel) {
+        return countdownId -> submit(countdownId, () -> onCancel.accept(countdownId));
+    }
+
+    /**
+     * Runs a callback of the given countdown on a virtual thread once a slot is free.
+     *
+     * @param countdownId the countdown the callback belongs to
+     * @param callback the callback to run
+     * @return false if the callback was rejected because too many callbacks are waiting
+     */
+    boolean submit(final String countdownId, final Runnable callback) {
+        if (admitted.incrementAndGet() > capacity) {
+            admitted.decrementAndGet();
+            reject(countdownId);
+            return false;
+        }
+
+        try {
+            threads.execute(() -> run(countdownId, callback));
+            return true;
+        } catch (final RejectedExecutionException exception) {
+            admitted.decrementAndGet();
+            reject(countdownId);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of callbacks running or waiting for a slot.
+     *
+     * @return the admitted callback count
+     */
+    int pending() {
+        return admitted.get();
+    }
+
+    /**
+     * Returns the number of callbacks rejected so far.
+     *
+     * @return the rejected callback count
+     */
+    long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops accepting callbacks and waits for the admitted ones to finish.
+     *
+     * @param timeoutMillis the longest time to wait, in milliseconds
+     * @return true if every admitted callback finished in time
+     */
+    boolean shutdown(final long timeoutMillis) {
+        threads.shutdown();
+        try {
+            return threads.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run(final String countdownId, final Runnable callback) {
+        try {
+            permits.acquire();
+        } catch (final InterruptedException exception) {
+            admitted.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            callback.run();
+        } catch (final RuntimeException exception) {
+            logger.log(Level.WARNING, "Callback of countdown " + countdownId + " failed", exception);
+        } finally {
+            permits.release();
+            admitted.decrementAndGet();
+        }
+    }
+
+    private void reject(final String countdownId) {
+        if (rejected.getAndIncrement() % 1000 == 0) {
+            logger.warning("Callback of countdown " + countdownId + " rejected, " + capacity
+                + " callbacks already pending (" + rejected.get() + " rejected so far)");
+        }
+    }
+}
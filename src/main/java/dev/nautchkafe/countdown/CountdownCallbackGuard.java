@@ -0,0 +1,207 @@
+package dev.nautchkafe.countdown;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code CountdownCallbackGuard} times every user callback the engine invokes and keeps slow ones
+ * away from the engine and main threads.
+ *
+ * <p>Callbacks run inline for as long as they stay within the budget. Each invocation over the budget, and
+ * each one that throws, is a strike against its countdown; a thrown exception is logged and never reaches
+ * the engine. After the configured number of strikes the countdown is quarantined and
+ * its callbacks run on a small dedicated executor with a bounded queue instead. A quarantined countdown that
+ * keeps failing or exceeding the budget there, or whose callbacks no longer fit into the queue, is disabled: its
+ * callbacks are skipped until the countdown ID is started again. Every transition is logged with the
+ * culprit countdown ID. The engine drops a countdown's record once its final callback has been handed off,
+ * so records of ended countdowns do not pile up.</p>
+ *
+ * <p>Java code cannot be preempted, so the invocation that first blocks still stalls its thread once;
+ * the guard bounds how often that can happen. Quarantined callbacks no longer run on the main thread
+ * and, with more than one quarantine thread, may run concurrently.</p>
+ */
+final class CountdownCallbackGuard {
+
+    private final long budgetNanos;
+    private final int strikes;
+    private final Logger logger;
+    private final ThreadPoolExecutor quarantine;
+    private final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a guard with a budget of five milliseconds, three strikes and a single quarantine
+     * thread queueing up to a thousand callbacks.
+     *
+     * @param logger the logger used to report offending countdowns
+     */
+    CountdownCallbackGuard(final Logger logger) {
+        this(Duration.ofMillis(5), 3, 1, 1024, logger);
+    }
+
+    /**
+     * Constructs a guard.
+     *
+     * @param budget the time a single callback invocation may take
+     * @param strikes the number of violations after which a countdown is quarantined, and then disabled
+     * @param quarantineThreads the number of threads running quarantined callbacks
+     * @param quarantineQueue the number of quarantined callbacks that may wait for a thread
+     * @param logger the logger used to report offending countdowns
+     */
+    CountdownCallbackGuard(final Duration budget, final int strikes, final int quarantineThreads,
+            final int quarantineQueue, final Logger logger) {
+        if (strikes <= 0) {
+            throw new IllegalArgumentException("Strike count must be positive: " + strikes);
+        }
+
+        this.budgetNanos = budget.toNanos();
+        this.strikes = strikes;
+        this.logger = logger;
+
+        final AtomicInteger threads = new AtomicInteger();
+        this.quarantine = new ThreadPoolExecutor(quarantineThreads, quarantineThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(quarantineQueue), task -> {
+                final Thread thread = new Thread(task, "countdown-quarantine-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Invokes a callback of the given countdown under the guard. A runtime exception thrown by the callback
+     * is logged with the countdown ID and counted as a strike instead of being rethrown.
+     *
+     * @param countdownId the countdown the callback belongs to
+     * @param callback the callback to invoke
+     * @return the time the callback took in nanoseconds, or {@code -1} if it was not run inline
+     */
+    long invoke(final String countdownId, final Runnable callback) {
+        final Offender offender = offenders.get(countdownId);
+        if (offender != null && offender.quarantined) {
+            offload(countdownId, offender, callback);
+            return -1L;
+        }
+
+        final long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            callback.run();
+        } catch (final RuntimeException exception) {
+            failed = true;
+            logger.log(Level.WARNING, "Callback of countdown " + countdownId + " failed", exception);
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        if (failed || elapsed > budgetNanos) {
+            strike(countdownId, elapsed);
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Returns whether the callbacks of the given countdown have been moved off the engine threads.
+     *
+     * @param countdownId the countdown to check
+     * @return true if the countdown is quarantined or disabled
+     */
+    boolean isQuarantined(final String countdownId) {
+        final Offender offender = offenders.get(countdownId);
+        return offender != null && offender.quarantined;
+    }
+
+    /**
+     * Returns whether the callbacks of the given countdown are being skipped.
+     *
+     * @param countdownId the countdown to check
+     * @return true if the countdown is disabled
+     */
+    boolean isDisabled(final String countdownId) {
+        final Offender offender = offenders.get(countdownId);
+        return offender != null && offender.disabled;
+    }
+
+    /**
+     * Clears the record of a countdown, typically when its ID is started again.
+     *
+     * @param countdownId the countdown to forget
+     */
+    void forget(final String countdownId) {
+        offenders.remove(countdownId);
+    }
+
+    /**
+     * Stops the quarantine threads once the callbacks already queued have run.
+     */
+    void shutdown() {
+        quarantine.shutdown();
+    }
+
+    private void strike(final String countdownId, final long elapsed) {
+        final Offender offender = offenders.computeIfAbsent(countdownId, id -> new Offender());
+        if (offender.strikes.incrementAndGet() < strikes || offender.quarantined) {
+            return;
+        }
+
+        offender.quarantined = true;
+        offender.strikes.set(0);
+        logger.warning("Callbacks of countdown " + countdownId + " failed or exceeded their " + budgetNanos / 1_000_000.0
+            + " ms budget " + strikes + " times (last took " + elapsed / 1_000_000.0
+            + " ms), moving them off the engine threads");
+    }
+
+    private void offload(final String countdownId, final Offender offender, final Runnable callback) {
+        if (offender.disabled) {
+            return;
+        }
+
+        try {
+            quarantine.execute(() -> {
+                if (offender.disabled) {
+                    return;
+                }
+
+                final long start = System.nanoTime();
+                boolean failed = false;
+                try {
+                    callback.run();
+                } catch (final RuntimeException exception) {
+                    failed = true;
+                    logger.log(Level.WARNING, "Quarantined callback of countdown " + countdownId + " failed", exception);
+                }
+
+                if ((failed || System.nanoTime() - start > budgetNanos) && offender.strikes.incrementAndGet() >= strikes) {
+                    disable(countdownId, offender, "kept failing or exceeding their budget in quarantine");
+                }
+            });
+        } catch (final RejectedExecutionException exception) {
+            disable(countdownId, offender, "overflowed the quarantine queue");
+        }
+    }
+
+    private void disable(final String countdownId, final Offender offender, final String reason) {
+        if (offender.disabled) {
+            return;
+        }
+
+        offender.disabled = true;
+        logger.severe("Callbacks of countdown " + countdownId + " " + reason + ", disabling them");
+    }
+
+    /**
+     * The violation record of one countdown.
+     */
+    private static final class Offender {
+
+        private final AtomicInteger strikes = new AtomicInteger();
+        private volatile boolean quarantined;
+        private volatile boolean disabled;
+    }
+}
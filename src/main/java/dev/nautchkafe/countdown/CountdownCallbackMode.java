@@ -0,0 +1,22 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * An enum deciding where the completion and cancel callbacks of a countdown run.
+ *
+ * <p>Tickers always run on the thread driving the countdown; only the callbacks ending it can be moved.
+ * A countdown started without a mode uses {@link #ENGINE}.</p>
+ */
+enum CountdownCallbackMode {
+
+    /**
+     * Completion callbacks run on the main thread and cancel callbacks on the thread cancelling the countdown,
+     * both under the callback guard. Suited to callbacks touching the game state.
+     */
+    ENGINE,
+
+    /**
+     * Callbacks are handed to the timer's {@link CountdownCallbackExecutor} and run on virtual threads, within
+     * its concurrency and queue limits. Suited to callbacks blocking on I/O, such as saving to a database.
+     */
+    BLOCKING
+}
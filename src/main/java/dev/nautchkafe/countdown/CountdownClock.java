@@ -0,0 +1,37 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * The time source and thread model the countdown engine runs on.
+ *
+ * <p>The clock delivers engine ticks to the registered tick drivers and runs work on the thread that
+ * plays the server's main thread. {@link BukkitCountdownClock} binds the engine to a live server,
+ * while {@link VirtualCountdownClock} lets tests and benchmarks advance time deterministically.</p>
+ */
+interface CountdownClock {
+
+    /**
+     * Registers a callback invoked once per engine tick until the clock is stopped.
+     *
+     * @param tick the callback to invoke every tick
+     */
+    void onTick(final Runnable tick);
+
+    /**
+     * Runs a task on the main thread.
+     *
+     * @param task the task to run
+     */
+    void runOnMainThread(final Runnable task);
+
+    /**
+     * Returns the current value of the clock's monotonic time source.
+     *
+     * @return the current time in nanoseconds
+     */
+    long nanoTime();
+
+    /**
+     * Stops delivering ticks to every registered callback.
+     */
+    void stop();
+}
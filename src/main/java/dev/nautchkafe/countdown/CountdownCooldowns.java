@@ -0,0 +1,201 @@
+package dev.nautchkafe.countdown;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tickless countdowns storing nothing but a deadline, for cooldowns that have no per-tick behavior.
+ *
+ * <p>A cooldown is not scheduled on a tick driver and has no ticker. Queries compare its deadline against
+ * the clock, so a cooldown reads as over the moment its deadline passes, whether or not its expiry callback
+ * has run yet. Expiry callbacks come from a single heap ordered by deadline, checked once per tick: while the
+ * earliest deadline lies ahead the check reads one field, so any number of waiting cooldowns costs memory
+ * only. Callbacks of cooldowns expiring in the same tick share one main-thread hop. They run under the
+ * callback guard as {@code cooldown:<key>}, apart from any countdown of the same ID, and a cooldown that
+ * starts clears the guard's record of its key.</p>
+ *
+ * <p>Deadlines follow the clock's {@link CountdownClock#nanoTime() time} whatever the engine's
+ * {@link CountdownTimePolicy}, and cooldowns publish no lifecycle events and are not journaled. A cancelled
+ * or restarted cooldown leaves its heap entry behind until its deadline; stale entries are purged whenever
+ * they outnumber the live ones.</p>
+ */
+final class CountdownCooldowns {
+
+    private static final int PURGE_SLACK = 1024;
+
+    private final CountdownScheduler scheduler;
+    private final Map<Object, Cooldown> cooldowns = new ConcurrentHashMap<>();
+    private final PriorityQueue<Cooldown> deadlines = new PriorityQueue<>(Comparator.comparingLong(Cooldown::deadline));
+    private volatile long nextDeadline = Long.MAX_VALUE;
+
+    /**
+     * Constructs an empty store checked on every tick of the scheduler's clock.
+     *
+     * @param scheduler the scheduler providing the clock, the main thread and the callback guard
+     */
+    CountdownCooldowns(final CountdownScheduler scheduler) {
+        this.scheduler = scheduler;
+        scheduler.clock().onTick(this::expire);
+    }
+
+    /**
+     * Starts a cooldown under the given key, unless one is still running under it.
+     *
+     * @param key the key of the cooldown, whose string form is the countdown ID passed to the callback
+     * @param nanos the length of the cooldown in nanoseconds
+     * @param onExpire the callback run on the main thread once the cooldown expires
+     * @return true if the cooldown was started
+     */
+    boolean start(final Object key, final long nanos, final CountdownCompletion onExpire) {
+        final long now = scheduler.clock().nanoTime();
+        final Cooldown cooldown = new Cooldown(key, now + nanos, onExpire);
+        Cooldown previous;
+        do {
+            previous = cooldowns.get(key);
+            if (previous != null && now < previous.deadline()) {
+                return false;
+            }
+        } while (previous == null ? cooldowns.putIfAbsent(key, cooldown) != null
+            : !cooldowns.replace(key, previous, cooldown));
+
+        scheduler.guard().forget(guardId(key));
+        if (previous != null) {
+            dispatch(List.of(previous));
+        }
+
+        synchronized (deadlines) {
+            deadlines.add(cooldown);
+            if (deadlines.size() > 2 * cooldowns.size() + PURGE_SLACK) {
+                deadlines.removeIf(entry -> cooldowns.get(entry.key()) != entry);
+            }
+
+            nextDeadline = deadlines.peek().deadline();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether a cooldown is running under the given key.
+     *
+     * @param key the key of the cooldown
+     * @return true if the cooldown's deadline has not passed yet
+     */
+    boolean isActive(final Object key) {
+        final Cooldown cooldown = cooldowns.get(key);
+        return cooldown != null && scheduler.clock().nanoTime() < cooldown.deadline();
+    }
+
+    /**
+     * Returns the time left in the cooldown running under the given key.
+     *
+     * @param key the key of the cooldown
+     * @return the nanoseconds left, or zero if no cooldown is running under the key
+     */
+    long remainingNanos(final Object key) {
+        final Cooldown cooldown = cooldowns.get(key);
+        return cooldown == null ? 0L : Math.max(0L, cooldown.deadline() - scheduler.clock().nanoTime());
+    }
+
+    /**
+     * Cancels the cooldown running under the given key without running its callback.
+     * A cooldown whose deadline has already passed expires normally instead.
+     *
+     * @param key the key of the cooldown
+     * @return true if a running cooldown was cancelled
+     */
+    boolean cancel(final Object key) {
+        final Cooldown cooldown = cooldowns.remove(key);
+        if (cooldown == null) {
+            return false;
+        }
+
+        if (scheduler.clock().nanoTime() < cooldown.deadline()) {
+            return true;
+        }
+
+        dispatch(List.of(cooldown));
+        return false;
+    }
+
+    /**
+     * Returns the number of cooldowns stored, including expired ones whose callback has not run yet.
+     *
+     * @return the stored cooldown count
+     */
+    int size() {
+        return cooldowns.size();
+    }
+
+    /**
+     * Drops every cooldown without running its callback.
+     */
+    void clear() {
+        synchronized (deadlines) {
+            cooldowns.clear();
+            deadlines.clear();
+            nextDeadline = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Expires every cooldown whose deadline has passed. Called on every tick of the clock.
+     */
+    void expire() {
+        final long now = scheduler.clock().nanoTime();
+        if (now < nextDeadline) {
+            return;
+        }
+
+        final List<Cooldown> expired = new ArrayList<>();
+        synchronized (deadlines) {
+            Cooldown head;
+            while ((head = deadlines.peek()) != null && head.deadline() <= now) {
+                deadlines.poll();
+                if (cooldowns.remove(head.key(), head)) {
+                    expired.add(head);
+                }
+            }
+
+            nextDeadline = head == null ? Long.MAX_VALUE : head.deadline();
+        }
+
+        dispatch(expired);
+    }
+
+    private void dispatch(final List<Cooldown> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        final Instant endTime = Instant.now();
+        scheduler.runAsync(() -> {
+            for (final Cooldown cooldown : expired) {
+                final String countdownId = cooldown.key().toString();
+                scheduler.guard().invoke(guardId(cooldown.key()), () -> cooldown.onExpire().accept(countdownId, endTime));
+            }
+        });
+    }
+
+    /**
+     * Returns the ID a cooldown's callbacks are guarded under, kept apart from the countdown of the same ID.
+     */
+    private static String guardId(final Object key) {
+        return "cooldown:" + key;
+    }
+
+    /**
+     * A cooldown: its key, its deadline in clock nanoseconds and its expiry callback.
+     */
+    private record Cooldown(
+        Object key,
+        long deadline,
+        CountdownCompletion onExpire
+    ) {
+    }
+}
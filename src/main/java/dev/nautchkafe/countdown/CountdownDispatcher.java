@@ -1,12 +1,14 @@
 package dev.nautchkafe.countdown;
 
-import org.bukkit.Bukkit;
+import dev.nautchkafe.countdown.event.CountdownCancelEvent;
+import dev.nautchkafe.countdown.event.CountdownCloseEvent;
+import dev.nautchkafe.countdown.event.CountdownFinishEvent;
+import dev.nautchkafe.countdown.event.CountdownStartEvent;
 
-import java.util.List;
-import java.util.Map;
-import java.java.time.Instant;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The CountdownDispatcher class manages and dispatches countdown tasks, each associated with a unique countdown ID.
@@ -15,76 +17,285 @@ import java.util.concurrent.atomic.AtomicBoolean;
 final class CountdownDispatcher {
     
     private final CountdownScheduler scheduler;
-    private final Map<String, CountdownTask> countdowns;
+    private final CountdownRegistry countdowns;
+    private final CountdownJournal journal;
     private final CountdownCompletion onComplete;
     private final CountdownCancel onCancel;
+    private final CountdownPhaseProcessor processor;
 
     /**
      * Constructs a CountdownDispatcher with the specified scheduler, countdown tasks, completion handler,
      * and cancel handler.
      * 
      * @param scheduler   the scheduler to manage countdown phases
-     * @param countdowns  a map to hold the countdown tasks, initially populated with no tasks
+     * @param countdowns  the registry of running countdown tasks shared with the owning timer
+     * @param journal     the journal recording the lifecycle of every countdown
      * @param onComplete  callback triggered upon countdown completion
      * @param onCancel    callback triggered upon countdown cancellation
      */
     CountdownDispatcher(final CountdownScheduler scheduler,
-            final Map<String, CountdownTask> countdowns, 
+            final CountdownRegistry countdowns,
+            final CountdownJournal journal,
             final CountdownCompletion onComplete, 
             final CountdownCancel onCancel) {
         this.scheduler = scheduler;
-        this.countdowns =  new ConcurrentHashMap<>();
+        this.countdowns = countdowns;
+        this.journal = journal;
         this.onComplete = onComplete;
         this.onCancel = onCancel;
+        this.processor = new CountdownPhaseProcessor(scheduler, journal, countdowns.index(), this::complete);
     }
 
     /**
      * Starts a phased countdown for the given countdown ID and phases if not already running.
+     *
+     * <p>Registration is atomic: when several threads start the same ID concurrently exactly one of them
+     * registers its task, publishes the start event and arms the phases. A cancellation arriving while the
+     * task is still pending is completed here, after the start event, so events always arrive in order.</p>
      * 
      * @param countdownId the unique identifier for the countdown
-     * @param phases      the list of phases to execute
+     * @param plan        the plan of phases to execute
      */
-    void startPhasedCountdown(final String countdownId, final List<CountdownPhase> phases) {
-        if (countdowns.containsKey(countdownId)) {
+    void startPhasedCountdown(final String countdownId, final CountdownPlan plan) {
+        startPhasedCountdown(countdownId, plan, Set.of());
+    }
+
+    /**
+     * Starts a phased countdown carrying the given tags, by which it can be queried while it runs.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param plan        the plan of phases to execute
+     * @param tags        the tags of the countdown
+     */
+    void startPhasedCountdown(final String countdownId, final CountdownPlan plan, final Set<String> tags) {
+        resumePhasedCountdown(countdownId, plan, 0, plan.size() > 0 ? plan.ticks(0) : 0L, tags);
+    }
+
+    /**
+     * Starts a phased countdown indexed under a primitive key, so it can later be queried and cancelled
+     * by that key without building its string ID again.
+     *
+     * <p>The countdown is indexed under its key as soon as it is registered under its ID, while it is still
+     * pending, so that a cancellation by key made while it starts finds it and is honoured by the start. The ID
+     * is derived from the key, so winning the registry means no other start of the key holds a live entry, and
+     * the key store cannot refuse the countdown.</p>
+     *
+     * @param keys        the index of the key type
+     * @param high        the high 64 bits of the key
+     * @param low         the low 64 bits of the key
+     * @param countdownId the unique identifier for the countdown, derived from the key
+     * @param plan        the plan of phases to execute
+     */
+    void startPhasedCountdown(final CountdownKeyStore keys, final long high, final long low, final String countdownId,
+            final CountdownPlan plan) {
+        final CountdownTask task = register(countdownId);
+        if (task != null) {
+            keys.put(high, low, countdownId, task);
+            launch(countdownId, task, plan, 0, plan.size() > 0 ? plan.ticks(0) : 0L, Set.of());
+        }
+    }
+
+    /**
+     * Checks if a countdown is running under the given primitive key. Does not allocate.
+     *
+     * @param keys the index of the key type
+     * @param high the high 64 bits of the key
+     * @param low  the low 64 bits of the key
+     * @return true if the countdown exists, false otherwise
+     */
+    boolean hasCountdown(final CountdownKeyStore keys, final long high, final long low) {
+        return keys.contains(high, low);
+    }
+
+    /**
+     * Cancels the countdown running under the given primitive key.
+     *
+     * @param keys the index of the key type
+     * @param high the high 64 bits of the key
+     * @param low  the low 64 bits of the key
+     */
+    void cancel(final CountdownKeyStore keys, final long high, final long low) {
+        final CountdownKeyStore.Entry entry = keys.entry(high, low);
+        if (entry != null) {
+            cancelTask(entry.countdownId(), entry.task());
+        }
+    }
+
+    /**
+     * Starts every countdown of a group with one shared phase plan.
+     *
+     * <p>Each ID is registered, journaled and announced like a single countdown; IDs already running are
+     * skipped. The phases are then armed once for the whole group, so the group costs a single timer
+     * however many members it has.</p>
+     *
+     * @param group        the group the countdowns are started in
+     * @param countdownIds the unique identifiers of the member countdowns
+     * @param plan         the plan of phases shared by the members
+     */
+    void startGroup(final CountdownGroup group, final Collection<String> countdownIds, final CountdownPlan plan) {
+        final long[] phaseTicks = plan.phaseTicks();
+        for (final String countdownId : countdownIds) {
+            final CountdownTask task = new CountdownTask(new CompletableFuture<>(), null, onCancel);
+            if (countdowns.putIfAbsent(countdownId, task) != null) {
+                continue;
+            }
+
+            index(countdownId, task, plan, 0, plan.size() > 0 ? plan.ticks(0) : 0L, Set.of());
+            publishStart(countdownId);
+            journal.started(countdownId, phaseTicks);
+
+            if (!task.start()) {
+                closeCancelled(countdownId, task);
+                continue;
+            }
+
+            scheduler.metrics().countdownStarted();
+            scheduler.guard().forget(countdownId);
+            group.join(countdownId, task);
+        }
+
+        if (!group.task().start()) {
+            group.drain(this::cancelTask);
+            return;
+        }
+
+        group.task().future().thenRun(() -> completeGroup(group));
+        processor.processGroupPhases(group, plan);
+    }
+
+    /**
+     * Finishes a group once its last phase has completed, finishing every member still running.
+     * Does nothing if a cancellation of the group won the race.
+     *
+     * @param group the group that has completed
+     */
+    private void completeGroup(final CountdownGroup group) {
+        if (!group.task().finish()) {
+            return;
+        }
+
+        group.task().release();
+        group.drain((countdownId, task) -> {
+            task.future().complete(null);
+            complete(countdownId, task);
+        });
+    }
+
+    /**
+     * Cancels a group: stops its shared timer, then cancels every member still running.
+     *
+     * @param group the group to cancel
+     */
+    void cancelGroup(final CountdownGroup group) {
+        final CountdownTask task = group.task();
+        if (task.requestCancel().isTerminal()) {
             return;
         }
 
-        final Runnable composed = compose(countdownId, phases.iterator());
-        final CompletableFuture<Void> future = CompletableFuture.runAsync(composed);
-        countdowns.put(countdownId, new CountdownTask(future, null, onCancel));
+        processor.cancelled(task);
+        task.future().cancel(true);
+        task.release();
+        group.drain(this::cancelTask);
+    }
 
-        if (!isCancelled(countdownId)) {
-            final CountdownStartEvent startEvent = new CountdownStartEvent(countdownId);
-            CountdownEventTrigger.triggerEvent(tickServer(), startEvent);
+    private void cancelTask(final String countdownId, final CountdownTask task) {
+        if (task.requestCancel() == CountdownState.RUNNING) {
+            closeCancelled(countdownId, task);
         }
     }
 
     /**
-     * Composes the countdown task using the given countdown ID and phase iterator.
-     * 
+     * Starts a phased countdown from the given phase, with the given ticks left in that phase.
+     * Used to resume countdowns recovered from the journal or replicated from another server.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param plan        the plan of phases to execute
+     * @param phase       the index of the phase to start from
+     * @param ticks       the ticks left in that phase
+     * @return the started task, or {@code null} if the ID was already running or the start was cancelled
+     */
+    CountdownTask resumePhasedCountdown(final String countdownId, final CountdownPlan plan, final int phase,
+            final long ticks) {
+        return resumePhasedCountdown(countdownId, plan, phase, ticks, Set.of());
+    }
+
+    private CountdownTask resumePhasedCountdown(final String countdownId, final CountdownPlan plan, final int phase,
+            final long ticks, final Set<String> tags) {
+        final CountdownTask task = register(countdownId);
+        return task != null ? launch(countdownId, task, plan, phase, ticks, tags) : null;
+    }
+
+    /**
+     * Registers a pending task under the given ID.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return the registered task, or {@code null} if the ID was already running
+     */
+    private CountdownTask register(final String countdownId) {
+        final CountdownTask task = new CountdownTask(new CompletableFuture<>(), null, onCancel);
+        return countdowns.putIfAbsent(countdownId, task) == null ? task : null;
+    }
+
+    /**
+     * Indexes, journals and announces a registered task, then starts it from the given phase.
+     * A task cancelled while still pending is closed here instead.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param task        the registered task
+     * @param plan        the plan of phases to execute
+     * @param phase       the index of the phase to start from
+     * @param ticks       the ticks left in that phase
+     * @param tags        the tags of the countdown
+     * @return the started task, or {@code null} if the start was cancelled
+     */
+    private CountdownTask launch(final String countdownId, final CountdownTask task, final CountdownPlan plan,
+            final int phase, final long ticks, final Set<String> tags) {
+        index(countdownId, task, plan, phase, ticks, tags);
+        publishStart(countdownId);
+        journal.started(countdownId, plan.phaseTicks());
+
+        if (!task.start()) {
+            closeCancelled(countdownId, task);
+            return null;
+        }
+
+        scheduler.metrics().countdownStarted();
+        scheduler.guard().forget(countdownId);
+        processor.processPhases(countdownId, plan, phase, ticks, task);
+        return task;
+    }
+
+    /**
+     * Finishes the countdown once its last phase has completed, running the completion callback
+     * and firing the finish and close events. Does nothing if a cancellation won the race.
+     * The task is unregistered only after its events have been published.
+     *
      * @param countdownId the unique identifier for the countdown
-     * @param iterator    an iterator over the phases to execute
-     * @return a Runnable representing the composed task
+     * @param task        the task that has completed
      */
-    private Runnable compose(final String countdownId, final Iterator<CountdownPhase> iterator) {
-        return () -> {
+    private void complete(final String countdownId, final CountdownTask task) {
+        if (!task.finish()) {
+            return;
+        }
+
+        task.release();
+        journal.finished(countdownId);
+        scheduler.metrics().countdownFinished();
+        scheduler.runAsync(() -> {
             try {
-                new CountdownPhaseProcessor(scheduler).processPhases(countdownId, iterator);
-
-                countdowns.remove(countdownId);
-                scheduler.runAsync(() -> onComplete.accept(countdownId, Instant.now()));
-                
-                if (!isCancelled(countdownId)) {
-                    final CountdownFinishEvent finishEvent = new CountdownFinishEvent(countdownId, Instant.now());
-                    CountdownEventTrigger.triggerEvent(tickServer(), finishEvent);
-                }
-
-                final CountdownCloseEvent closeEvent = new CountdownCloseEvent(countdownId);
-                CountdownEventTrigger.triggerEvent(tickServer(), closeEvent);            
-            } catch (final InterruptedException e) {
-                Thread.currentThread().interrupt();
+                scheduler.guard().invoke(countdownId, () -> onComplete.accept(countdownId, Instant.now()));
+            } finally {
+                scheduler.guard().forget(countdownId);
             }
-        };
+        });
+
+        if (scheduler.isListened(CountdownFinishEvent.getHandlerList())) {
+            scheduler.publish(new CountdownFinishEvent(countdownId, Instant.now(), scheduler.asyncEvents()));
+        }
+
+        publishClose(countdownId);
+        countdowns.index().removed(countdownId, task);
+        countdowns.remove(countdownId, task);
     }
 
     /**
@@ -94,55 +305,193 @@ final class CountdownDispatcher {
      * @return true if the countdown exists, false otherwise
      */
     boolean hasCountdown(final String id) {
-        return countdowns.containsKey(id);
+        return countdowns.contains(id);
     }
 
     /**
      * Cancels the countdown associated with the given ID, triggering cancellation events.
+     * Only the caller winning the transition to the cancelled state runs the cancellation;
+     * a countdown cancelled while still pending is closed by the thread starting it.
      * 
      * @param countdownId the unique identifier for the countdown
      */
     void cancel(final String countdownId) {
-        final CountdownTask task = countdowns.remove(countdownId);
-        if (task != null) {
-            task.cancel(countdownId);
-            
-            if (!isCancelled(countdownId)) {
-                final CountdownCancelEvent cancelEvent = new CountdownCancelEvent(countdownId);
-                CountdownEventTrigger.triggerEvent(tickServer(), cancelEvent);
-            }
-
-            final CountdownCloseEvent closeEvent = new CountdownCloseEvent(countdownId);
-            CountdownEventTrigger.triggerEvent(tickServer(), closeEvent);
+        final CountdownTask task = countdowns.get(countdownId);
+        if (task != null && task.requestCancel() == CountdownState.RUNNING) {
+            closeCancelled(countdownId, task);
         }
     }
 
+    /**
+     * Pauses the countdown with the given ID at the start of its driver's next tick.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the pause was queued; false if the countdown is not running or is a group member
+     */
+    boolean pause(final String countdownId) {
+        final CountdownTask task = countdowns.get(countdownId);
+        return task != null && processor.pause(task);
+    }
+
+    /**
+     * Resumes the paused countdown with the given ID at the start of its driver's next tick.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the resume was queued; false if the countdown is not running or is a group member
+     */
+    boolean resume(final String countdownId) {
+        final CountdownTask task = countdowns.get(countdownId);
+        return task != null && processor.resume(task);
+    }
+
+    /**
+     * Moves the end of the current phase of the countdown with the given ID.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param ticks       the ticks to add, or to remove if negative
+     * @return true if the extension was queued; false if the countdown is not running or is a group member
+     */
+    boolean extend(final String countdownId, final long ticks) {
+        final CountdownTask task = countdowns.get(countdownId);
+        return task != null && processor.extend(task, ticks);
+    }
+
+    /**
+     * Ends the current phase of the countdown with the given ID, moving on to the next one.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the skip was queued; false if the countdown is not running or is a group member
+     */
+    boolean skipPhase(final String countdownId) {
+        final CountdownTask task = countdowns.get(countdownId);
+        return task != null && processor.skipPhase(task);
+    }
+
+    /**
+     * Moves the countdown with the given ID to a position in its plan.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param phase       the index of the phase to run
+     * @param ticks       the ticks left in that phase
+     * @return true if the move was queued; false if the countdown is not running or is a group member
+     */
+    boolean seek(final String countdownId, final int phase, final long ticks) {
+        final CountdownTask task = countdowns.get(countdownId);
+        return task != null && processor.seek(task, phase, ticks);
+    }
+
+    /**
+     * Pauses the shared timer of a group, and with it every member.
+     *
+     * @param group the group to pause
+     * @return true if the pause was queued
+     */
+    boolean pauseGroup(final CountdownGroup group) {
+        return processor.pause(group.task());
+    }
+
+    /**
+     * Resumes the shared timer of a paused group.
+     *
+     * @param group the group to resume
+     * @return true if the resume was queued
+     */
+    boolean resumeGroup(final CountdownGroup group) {
+        return processor.resume(group.task());
+    }
+
+    /**
+     * Moves the end of the current phase of a group.
+     *
+     * @param group the group to extend
+     * @param ticks the ticks to add, or to remove if negative
+     * @return true if the extension was queued
+     */
+    boolean extendGroup(final CountdownGroup group, final long ticks) {
+        return processor.extend(group.task(), ticks);
+    }
+
+    /**
+     * Ends the current phase of a group, moving every member on to the next one.
+     *
+     * @param group the group to advance
+     * @return true if the skip was queued
+     */
+    boolean skipGroupPhase(final CountdownGroup group) {
+        return processor.skipPhase(group.task());
+    }
+
     /**
      * Cancels all active countdowns.
      */
     void cancelAllCountdowns() {
-        for (final String id : countdowns.keySet()) {
-            cancel(id);
+        countdowns.forEach((id, task) -> cancel(id));
+    }
+
+    /**
+     * Runs the cancellation of a task whose transition to the cancelled state has been won,
+     * firing the cancel and close events. The task is unregistered only after its events
+     * have been published, so a restart of the same ID is always ordered after them.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param task        the cancelled task
+     */
+    private void closeCancelled(final String countdownId, final CountdownTask task) {
+        processor.cancelled(task);
+        try {
+            task.cancel(countdownId, scheduler.guard());
+        } finally {
+            scheduler.guard().forget(countdownId);
         }
+
+        journal.cancelled(countdownId);
+        scheduler.metrics().countdownCancelled();
+
+        if (scheduler.isListened(CountdownCancelEvent.getHandlerList())) {
+            scheduler.publish(new CountdownCancelEvent(countdownId, scheduler.asyncEvents()));
+        }
+
+        publishClose(countdownId);
+        countdowns.index().removed(countdownId, task);
+        countdowns.remove(countdownId, task);
     }
 
     /**
-     * Checks if the countdown associated with the given ID is cancelled.
-     * 
+     * Indexes a registered countdown under its tags and the deadline of the given position in its plan.
+     *
      * @param countdownId the unique identifier for the countdown
-     * @return true if the countdown is cancelled, false otherwise
+     * @param task        the registered task of the countdown
+     * @param plan        the plan of phases to execute
+     * @param phase       the index of the phase to start from
+     * @param ticks       the ticks left in that phase
+     * @param tags        the tags of the countdown
      */
-    private boolean isCancelled(final String countdownId) {
-        final CountdownTask task = countdowns.get(countdownId);
-        return task != null && task.future().isCancelled();
+    private void index(final String countdownId, final CountdownTask task, final CountdownPlan plan, final int phase,
+            final long ticks, final Set<String> tags) {
+        final long remaining = phase < plan.size() ? ticks + plan.ticksAfter(phase) : 0L;
+        countdowns.index().started(countdownId, task, tags,
+            scheduler.clock().nanoTime() + remaining * CountdownTimePolicy.NANOS_PER_TICK);
     }
 
     /**
-     * Returns the server instance used for triggering events.
-     * 
-     * @return the server instance
+     * Publishes the start event of a countdown, unless nobody listens to it.
+     *
+     * @param countdownId the unique identifier for the countdown
      */
-    private Server tickServer() {
-        return Bukkit.getServer();
+    private void publishStart(final String countdownId) {
+        if (scheduler.isListened(CountdownStartEvent.getHandlerList())) {
+            scheduler.publish(new CountdownStartEvent(countdownId, scheduler.asyncEvents()));
+        }
+    }
+
+    /**
+     * Publishes the close event of a countdown, unless nobody listens to it.
+     *
+     * @param countdownId the unique identifier for the countdown
+     */
+    private void publishClose(final String countdownId) {
+        if (scheduler.isListened(CountdownCloseEvent.getHandlerList())) {
+            scheduler.publish(new CountdownCloseEvent(countdownId, scheduler.asyncEvents()));
+        }
     }
 }
@@ -0,0 +1,258 @@
+package dev.nautchkafe.countdown;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A ticker showing the time left in a countdown on a boss bar, the action bar or a title.
+ *
+ * <p>A display is attached to a phase with {@link CountdownPhase#withDisplay(CountdownDisplay)} and forked
+ * for every run of that phase, like any stateful ticker. Each fork renders through its
+ * {@link CountdownRenderer} only when the seconds left change, and remembers what every viewer was last sent:
+ * on each edge it walks the countdown's viewers, which costs no traffic, and pushes an update only to viewers
+ * whose visible output differs, so players joining mid-countdown are caught up on the next edge and nobody
+ * receives the same text twice. Boss bars are shown once per viewer and their progress moves in
+ * {@value #PROGRESS_STEPS} steps, so a bar updates at most once per step or second rather than every tick.</p>
+ *
+ * <p>Updates go through a {@link CountdownDisplayOutbox}. The default one sends them right away on the ticking
+ * thread; a display {@link #batchedThrough(CountdownDisplayOutbox) batched} through the timer's outbox queues
+ * them, coalesced per viewer, and sends them all on the main thread after the tick.</p>
+ *
+ * <p>A boss bar is hidden when the countdown leaves its phase: when the phase runs out, whatever edges its
+ * cadence has, when it is skipped, and when the countdown is cancelled. A member cancelled on its own from a
+ * group loses its bar on the group's next edge. {@link #hide(String)} hides a bar at any other time.</p>
+ */
+final class CountdownDisplay implements CountdownTicker {
+
+    private static final int PROGRESS_STEPS = 100;
+    private static final Title.Times TITLE_TIMES = Title.Times.times(Duration.ZERO, Duration.ofMillis(1100), Duration.ZERO);
+
+    private final Kind kind;
+    private final CountdownRenderer renderer;
+    private final CountdownAudience audience;
+    private final BossBar.Color color;
+    private final BossBar.Overlay overlay;
+    private final long totalTicks;
+    private final CountdownDisplayOutbox outbox;
+    private final Map<String, CountdownDisplay> bars;
+    private final Map<Audience, Viewer> viewers = new ConcurrentHashMap<>();
+
+    private long pass;
+    private long lastSeconds = -1L;
+    private int lastStep = -1;
+    private Component rendered;
+    private BossBar bar;
+
+    private CountdownDisplay(final Kind kind, final CountdownRenderer renderer, final CountdownAudience audience,
+            final BossBar.Color color, final BossBar.Overlay overlay, final long totalTicks,
+            final CountdownDisplayOutbox outbox, final Map<String, CountdownDisplay> bars) {
+        this.kind = kind;
+        this.renderer = renderer;
+        this.audience = audience;
+        this.color = color;
+        this.overlay = overlay;
+        this.totalTicks = totalTicks;
+        this.outbox = outbox;
+        this.bars = bars;
+    }
+
+    /**
+     * Creates a display showing the time left on the action bar.
+     *
+     * @param renderer the renderer of the shown text
+     * @param audience the resolver of each countdown's viewers
+     * @return the display
+     */
+    static CountdownDisplay actionBar(final CountdownRenderer renderer, final CountdownAudience audience) {
+        return new CountdownDisplay(Kind.ACTION_BAR, renderer, audience, null, null, 0L,
+            CountdownDisplayOutbox.immediate(), null);
+    }
+
+    /**
+     * Creates a display showing the time left as a title, replaced every second.
+     *
+     * @param renderer the renderer of the shown title
+     * @param audience the resolver of each countdown's viewers
+     * @return the display
+     */
+    static CountdownDisplay title(final CountdownRenderer renderer, final CountdownAudience audience) {
+        return new CountdownDisplay(Kind.TITLE, renderer, audience, null, null, 0L,
+            CountdownDisplayOutbox.immediate(), null);
+    }
+
+    /**
+     * Creates a display showing the time left on a boss bar, whose progress follows the time left in the phase.
+     *
+     * @param renderer the renderer of the bar's name
+     * @param color the color of the bar
+     * @param overlay the overlay of the bar
+     * @param audience the resolver of each countdown's viewers
+     * @return the display
+     */
+    static CountdownDisplay bossBar(final CountdownRenderer renderer, final BossBar.Color color,
+            final BossBar.Overlay overlay, final CountdownAudience audience) {
+        return new CountdownDisplay(Kind.BOSS_BAR, renderer, audience, color, overlay, 0L,
+            CountdownDisplayOutbox.immediate(), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns this display sending its updates through the given outbox, usually {@link CountdownTimer#displays()}.
+     *
+     * @param outbox the outbox batching the updates
+     * @return the batched display
+     */
+    CountdownDisplay batchedThrough(final CountdownDisplayOutbox outbox) {
+        return new CountdownDisplay(kind, renderer, audience, color, overlay, totalTicks, outbox, bars);
+    }
+
+    /**
+     * Returns this display sized for a phase of the given length, which the boss bar progress is measured against.
+     *
+     * @param ticks the duration of the phase in ticks
+     * @return the display for the phase
+     */
+    CountdownDisplay over(final long ticks) {
+        return new CountdownDisplay(kind, renderer, audience, color, overlay, ticks, outbox, bars);
+    }
+
+    /**
+     * Hides the boss bar shown for the given countdown, if any, from every viewer it was shown to.
+     *
+     * @param countdownId the identifier of the countdown
+     */
+    void hide(final String countdownId) {
+        final CountdownDisplay shown = bars == null ? null : bars.remove(countdownId);
+        if (shown != null) {
+            shown.hideAll();
+        }
+    }
+
+    @Override
+    public void apply(final String countdownId, final long secondsLeft, final long ticksLeft) {
+        if (kind == Kind.BOSS_BAR) {
+            if (ticksLeft <= 0) {
+                return;
+            }
+
+            refreshBar(countdownId, secondsLeft, ticksLeft);
+        } else if (secondsLeft != lastSeconds) {
+            lastSeconds = secondsLeft;
+            rendered = renderer.render(countdownId, secondsLeft);
+        }
+
+        pass++;
+        audience.resolve(countdownId).forEachAudience(viewer -> {
+            final Viewer state = viewers.computeIfAbsent(viewer, key -> new Viewer());
+            state.pass = pass;
+            if (kind == Kind.BOSS_BAR ? state.shown < 0 : state.shown != secondsLeft) {
+                state.shown = secondsLeft;
+                showTo(viewer);
+            }
+        });
+
+        if (kind == Kind.BOSS_BAR) {
+            viewers.entrySet().removeIf(entry -> {
+                if (entry.getValue().pass == pass) {
+                    return false;
+                }
+
+                hideFrom(entry.getKey());
+                return true;
+            });
+        } else {
+            viewers.values().removeIf(state -> state.pass != pass);
+        }
+    }
+
+    @Override
+    public CountdownTicker fork() {
+        return new CountdownDisplay(kind, renderer, audience, color, overlay, totalTicks, outbox, bars);
+    }
+
+    @Override
+    public void close(final String countdownId) {
+        if (bars != null && bars.remove(countdownId, this)) {
+            hideAll();
+        }
+    }
+
+    /**
+     * Creates the bar on the first edge and updates its contents when its second or progress step changes.
+     * Viewers already shown the bar receive the change through the bar itself.
+     */
+    private void refreshBar(final String countdownId, final long secondsLeft, final long ticksLeft) {
+        final int step = totalTicks <= 0 ? PROGRESS_STEPS
+            : (int) Math.min(PROGRESS_STEPS, Math.max(0L, (ticksLeft * PROGRESS_STEPS + totalTicks - 1) / totalTicks));
+        if (secondsLeft == lastSeconds && step == lastStep) {
+            return;
+        }
+
+        if (secondsLeft != lastSeconds) {
+            rendered = renderer.render(countdownId, secondsLeft);
+        }
+
+        lastSeconds = secondsLeft;
+        lastStep = step;
+        final Component name = rendered;
+        final float progress = (float) step / PROGRESS_STEPS;
+        if (bar == null) {
+            bar = BossBar.bossBar(name, progress, color, overlay);
+            bars.put(countdownId, this);
+            return;
+        }
+
+        final BossBar shared = bar;
+        outbox.send(shared, Kind.BOSS_BAR, () -> shared.name(name).progress(progress));
+    }
+
+    private void showTo(final Audience viewer) {
+        final Component shown = rendered;
+        switch (kind) {
+            case ACTION_BAR -> outbox.send(viewer, Kind.ACTION_BAR, () -> viewer.sendActionBar(shown));
+            case TITLE -> outbox.send(viewer, Kind.TITLE,
+                () -> viewer.showTitle(Title.title(shown, Component.empty(), TITLE_TIMES)));
+            case BOSS_BAR -> {
+                final BossBar shared = bar;
+                outbox.send(viewer, shared, () -> viewer.showBossBar(shared));
+            }
+        }
+    }
+
+    private void hideAll() {
+        viewers.keySet().removeIf(viewer -> {
+            hideFrom(viewer);
+            return true;
+        });
+    }
+
+    private void hideFrom(final Audience viewer) {
+        final BossBar shared = bar;
+        if (shared != null) {
+            outbox.send(viewer, shared, () -> viewer.hideBossBar(shared));
+        }
+    }
+
+    /**
+     * The kinds of display, doubling as the channels their updates are coalesced under.
+     */
+    private enum Kind {
+        ACTION_BAR,
+        TITLE,
+        BOSS_BAR
+    }
+
+    /**
+     * What one viewer was last sent.
+     */
+    private static final class Viewer {
+
+        private long shown = -1L;
+        private long pass;
+    }
+}
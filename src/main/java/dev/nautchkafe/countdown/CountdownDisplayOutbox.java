@@ -0,0 +1,118 @@
+package dev.nautchkafe.countdown;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CountdownDisplayOutbox} collects the display updates produced during a tick and sends them
+ * to the viewers on the main thread after the tick.
+ *
+ * <p>Updates are keyed by their target and channel, for example a player's action bar or a boss bar's
+ * contents, and a newer update replaces the one still waiting under the same key. Two countdowns shown on
+ * the same player's action bar in one tick therefore cost a single packet, and all the display traffic of a
+ * tick costs a single main-thread hop, like lifecycle events in the {@link CountdownEventPipeline}.
+ * {@link #immediate()} returns an outbox sending every update on the calling thread instead.</p>
+ */
+final class CountdownDisplayOutbox {
+
+    private final CountdownClock clock;
+    private final CountdownMetrics metrics;
+    private final Map<Slot, Runnable> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong replaced = new AtomicLong();
+
+    /**
+     * Constructs an outbox delivering on the main thread of the given clock.
+     *
+     * @param clock the clock providing the main thread, or {@code null} to send updates right away
+     * @param metrics the metrics recording the main-thread hops
+     */
+    CountdownDisplayOutbox(final CountdownClock clock, final CountdownMetrics metrics) {
+        this.clock = clock;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns an outbox sending every update right away, on the thread producing it.
+     *
+     * @return an unbatched outbox
+     */
+    static CountdownDisplayOutbox immediate() {
+        return new CountdownDisplayOutbox(null, null);
+    }
+
+    /**
+     * Queues an update for the next delivery, replacing the update still waiting for the same target and channel.
+     *
+     * @param target the object updated, such as a viewer or a boss bar
+     * @param channel the part of the target updated, such as the action bar
+     * @param update the update to run on delivery
+     */
+    void send(final Object target, final Object channel, final Runnable update) {
+        if (clock == null) {
+            sent.incrementAndGet();
+            update.run();
+            return;
+        }
+
+        if (pending.put(new Slot(target, channel), update) != null) {
+            replaced.incrementAndGet();
+        }
+    }
+
+    /**
+     * Schedules the delivery of every queued update on the main thread, unless a delivery is already pending.
+     */
+    void flush() {
+        if (clock == null || pending.isEmpty() || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        clock.runOnMainThread(metrics.mainThreadHop(this::deliver));
+    }
+
+    /**
+     * Runs every queued update on the calling thread. Must be called from the main thread.
+     */
+    void deliver() {
+        scheduled.set(false);
+
+        for (final Slot slot : pending.keySet()) {
+            final Runnable update = pending.remove(slot);
+            if (update != null) {
+                sent.incrementAndGet();
+                update.run();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of updates sent so far.
+     *
+     * @return the sent update count
+     */
+    long sent() {
+        return sent.get();
+    }
+
+    /**
+     * Returns the number of updates replaced by a newer one before they were sent.
+     *
+     * @return the coalesced update count
+     */
+    long replaced() {
+        return replaced.get();
+    }
+
+    /**
+     * The key an update is coalesced under.
+     */
+    private record Slot(
+        Object target,
+        Object channel
+    ) {
+    }
+}
@@ -0,0 +1,150 @@
+package dev.nautchkafe.countdown;
+
+import dev.nautchkafe.countdown.event.CountdownBatchEvent;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code CountdownEventPipeline} collects countdown lifecycle events published from any thread
+ * and delivers them on the main thread in publication order.
+ *
+ * <p>Events are flushed once per engine tick, so all transitions of a tick cost a single main-thread hop
+ * instead of one per event. When aggregation is enabled a {@link CountdownBatchEvent} carrying the whole
+ * batch is triggered after the individual events.</p>
+ *
+ * <p>Publishers ask {@link #isListened(HandlerList)} before building an event, so event types without
+ * listeners cost neither an allocation nor a dispatch. With an {@link CountdownEventSink#isAsync() asynchronous}
+ * sink the batch is delivered on the tick thread flushing it, one flushing thread at a time, and costs no
+ * main-thread hop at all.</p>
+ */
+final class CountdownEventPipeline {
+
+    private final CountdownClock clock;
+    private final CountdownEventSink sink;
+    private final boolean aggregate;
+    private final CountdownMetrics metrics;
+    private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Constructs an event pipeline delivering on the main thread of the given clock.
+     *
+     * @param clock     the clock providing the main thread
+     * @param sink      the sink triggering each delivered event, usually through the server's plugin manager
+     * @param aggregate whether a {@link CountdownBatchEvent} is triggered after each batch
+     * @param metrics   the metrics recording the main-thread hops and event dispatch latency
+     */
+    CountdownEventPipeline(final CountdownClock clock, final CountdownEventSink sink, final boolean aggregate,
+            final CountdownMetrics metrics) {
+        this.clock = clock;
+        this.sink = sink;
+        this.aggregate = aggregate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns whether events using the given handler list would reach a listener, either directly or
+     * through the batch event.
+     *
+     * @param handlers the handler list of the event type
+     * @return true if events of the type should be built and published
+     */
+    boolean isListened(final HandlerList handlers) {
+        return sink.isListened(handlers) || aggregate && sink.isListened(CountdownBatchEvent.getHandlerList());
+    }
+
+    /**
+     * Returns whether events are delivered asynchronously and must be built with the asynchronous flag set.
+     *
+     * @return true if events are delivered on the tick thread
+     */
+    boolean isAsync() {
+        return sink.isAsync();
+    }
+
+    /**
+     * Queues an event for delivery with the next batch.
+     *
+     * @param event the lifecycle event to deliver
+     */
+    void publish(final Event event) {
+        queue.add(event);
+    }
+
+    /**
+     * Schedules the delivery of every queued event on the main thread, unless a delivery is already pending.
+     * With an asynchronous sink the events are delivered on the calling tick thread instead, unless another
+     * thread is delivering them already.
+     */
+    void flush() {
+        if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (sink.isAsync()) {
+            drain();
+            scheduled.set(false);
+            return;
+        }
+
+        clock.runOnMainThread(metrics.mainThreadHop(this::deliver));
+    }
+
+    /**
+     * Triggers every queued event on the calling thread. Must be called from the main thread, or with an
+     * asynchronous sink from any other thread.
+     */
+    void deliver() {
+        scheduled.set(false);
+        drain();
+    }
+
+    /**
+     * Triggers every event still queued when the engine shuts down. Must be called from the main thread;
+     * asynchronous events are triggered on a separate thread, which the call waits for.
+     */
+    void close() {
+        if (!sink.isAsync()) {
+            deliver();
+            return;
+        }
+
+        try {
+            Thread.ofVirtual().start(this::deliver).join();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        final List<Event> batch = new ArrayList<>();
+        Event event;
+        while ((event = queue.poll()) != null) {
+            batch.add(event);
+            if (sink.isListened(event.getHandlers())) {
+                dispatch(event);
+            }
+        }
+
+        if (aggregate && !batch.isEmpty() && sink.isListened(CountdownBatchEvent.getHandlerList())) {
+            dispatch(new CountdownBatchEvent(batch, sink.isAsync()));
+        }
+    }
+
+    private void dispatch(final Event event) {
+        if (!metrics.isEnabled()) {
+            sink.trigger(event);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        sink.trigger(event);
+        metrics.eventLatency(System.nanoTime() - start);
+    }
+}
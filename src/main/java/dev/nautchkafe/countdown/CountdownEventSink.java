@@ -0,0 +1,84 @@
+package dev.nautchkafe.countdown;
+
+import dev.nautchkafe.countdown.event.CountdownEventTrigger;
+import org.bukkit.Server;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.function.Consumer;
+
+/**
+ * The destination of the engine's lifecycle events, which also tells whether an event type has listeners
+ * and on which kind of thread events are delivered.
+ *
+ * <p>A sink triggering events through the server's plugin manager reports an event type as listened only
+ * while its {@link HandlerList} has registered listeners, so the engine neither builds nor dispatches events
+ * nobody listens to. The check reads the handler list's baked listener array: Bukkit caches that array and
+ * drops it whenever a listener is registered or unregistered, so the answer follows listener changes
+ * without a lock. A sink wrapping a plain consumer, as used in tests, reports every event type as listened.</p>
+ *
+ * <p>An asynchronous sink receives its events on the tick thread right after each tick, built with the
+ * asynchronous flag set, instead of on the main thread. Bukkit rejects asynchronous events triggered on
+ * the main thread and synchronous ones triggered off it, so the flag always matches the delivering thread.</p>
+ */
+final class CountdownEventSink {
+
+    private final Consumer<Event> trigger;
+    private final boolean filtered;
+    private final boolean async;
+
+    private CountdownEventSink(final Consumer<Event> trigger, final boolean filtered, final boolean async) {
+        this.trigger = trigger;
+        this.filtered = filtered;
+        this.async = async;
+    }
+
+    /**
+     * Returns a sink passing every event to the given consumer on the main thread.
+     *
+     * @param consumer the consumer of the events
+     * @return the sink
+     */
+    static CountdownEventSink of(final Consumer<Event> consumer) {
+        return new CountdownEventSink(consumer, false, false);
+    }
+
+    /**
+     * Returns a sink triggering listened events through the server's plugin manager.
+     *
+     * @param server the server whose plugin manager triggers the events
+     * @param async whether events are delivered asynchronously on the tick thread rather than on the main thread
+     * @return the sink
+     */
+    static CountdownEventSink server(final Server server, final boolean async) {
+        return new CountdownEventSink(event -> CountdownEventTrigger.triggerEvent(server, event), true, async);
+    }
+
+    /**
+     * Triggers the given event.
+     *
+     * @param event the event to trigger
+     */
+    void trigger(final Event event) {
+        trigger.accept(event);
+    }
+
+    /**
+     * Returns whether events using the given handler list currently have listeners.
+     *
+     * @param handlers the handler list of the event type
+     * @return true if events of the type should be built and triggered
+     */
+    boolean isListened(final HandlerList handlers) {
+        return !filtered || handlers.getRegisteredListeners().length > 0;
+    }
+
+    /**
+     * Returns whether events are delivered asynchronously on the tick thread.
+     *
+     * @return true if events are built with the asynchronous flag set
+     */
+    boolean isAsync() {
+        return async;
+    }
+}
@@ -0,0 +1,506 @@
+package dev.nautchkafe.countdown;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A {@link CountdownJournal} persisting countdowns into a directory as an append-only binary journal
+ * plus periodic snapshots.
+ *
+ * <p>Every record is appended to an in-memory buffer and written to the current journal generation
+ * once per second by a background thread, so the engine threads never wait on the disk. A snapshot
+ * rolls the journal over to the next generation, writes every live countdown into a memory-mapped
+ * file, atomically replaces the previous snapshot and deletes the journal generations it covers.
+ * Recovery maps the latest snapshot and replays the journal generations written after it; a record
+ * torn by a crash ends the replay of its generation.</p>
+ *
+ * <p>Nothing is written before {@link #recover()} has been called: until then only the state of the live
+ * countdowns is kept in memory, no record is buffered, and the files of the previous run are left untouched,
+ * so an engine that never recovers cannot discard countdowns persisted by an earlier one. Recovery writes the
+ * live state into the journal generation it opens, and records are appended from then on.</p>
+ */
+final class CountdownFileJournal implements CountdownJournal {
+
+    private static final int JOURNAL_MAGIC = 0x43444A31;
+    private static final int SNAPSHOT_MAGIC = 0x43445331;
+
+    private static final byte START = 1;
+    private static final byte PHASE = 2;
+    private static final byte CANCEL = 3;
+    private static final byte FINISH = 4;
+
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final Clock clock;
+    private final Logger logger;
+    private final ScheduledExecutorService writer;
+    private final Object snapshotLock = new Object();
+    private final Map<String, CountdownRecord> live = new HashMap<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private long generation;
+    private boolean closed;
+
+    /**
+     * Constructs a {@code CountdownFileJournal} writing into the given directory on the system clock,
+     * taking a snapshot every minute.
+     *
+     * @param directory the directory holding the journal and snapshot files
+     * @param logger the logger used to report failing writes
+     */
+    CountdownFileJournal(final Path directory, final Logger logger) {
+        this(directory, Clock.systemUTC(), Duration.ofMinutes(1), logger);
+    }
+
+    /**
+     * Constructs a {@code CountdownFileJournal} writing into the given directory.
+     *
+     * @param directory the directory holding the journal and snapshot files
+     * @param clock the wall clock phase deadlines are stored against
+     * @param snapshotInterval the time between two snapshots
+     * @param logger the logger used to report failing writes
+     */
+    CountdownFileJournal(final Path directory, final Clock clock, final Duration snapshotInterval, final Logger logger) {
+        this.directory = directory;
+        this.clock = clock;
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "countdown-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        writer.scheduleWithFixedDelay(this::flush, 1L, 1L, TimeUnit.SECONDS);
+        writer.scheduleWithFixedDelay(this::snapshot, snapshotInterval.toMillis(), snapshotInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void started(final String countdownId, final long[] phaseTicks) {
+        if (closed) {
+            return;
+        }
+
+        final CountdownRecord record = new CountdownRecord(countdownId, phaseTicks, -1, clock.millis());
+        live.put(countdownId, record);
+        if (channel != null) {
+            appendStart(record);
+        }
+    }
+
+    @Override
+    public synchronized void advanced(final String countdownId, final int phase, final long ticks) {
+        if (closed) {
+            return;
+        }
+
+        final long deadline = clock.millis() + ticks * 50;
+        final CountdownRecord record = live.computeIfPresent(countdownId, (key, current) -> current.advance(phase, deadline));
+        if (channel != null && record != null) {
+            appendPhase(record);
+        }
+    }
+
+    @Override
+    public synchronized void cancelled(final String countdownId) {
+        end(CANCEL, countdownId);
+    }
+
+    @Override
+    public synchronized void finished(final String countdownId) {
+        end(FINISH, countdownId);
+    }
+
+    /**
+     * Takes a final snapshot, writes the records appended after it and stops the background writer.
+     * Must be called before the countdowns are cancelled on shutdown, so they survive into the next run.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5L, TimeUnit.SECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        snapshot();
+        synchronized (this) {
+            closed = true;
+            if (channel != null) {
+                try {
+                    drain();
+                    channel.force(false);
+                } catch (final IOException exception) {
+                    logger.log(Level.WARNING, "Could not write countdown journal in " + directory, exception);
+                }
+            }
+
+            closeChannel();
+        }
+    }
+
+    /**
+     * Loads the countdowns persisted by the previous run and starts writing the journal.
+     *
+     * <p>The state is rebuilt from the latest snapshot plus the journal generations written after it.
+     * Every recovered countdown is rebased onto the current time: phases whose deadline passed while
+     * the engine was down are skipped and the remaining time is carried into the next one. Countdowns
+     * already started in this run are left out.</p>
+     *
+     * @return the recovered countdowns, rebased onto the current time
+     */
+    @Override
+    public List<CountdownRecord> recover() {
+        synchronized (snapshotLock) {
+            final Map<String, CountdownRecord> state = new HashMap<>();
+            long next;
+            try {
+                Files.createDirectories(directory);
+                final long from = readSnapshot(state);
+                next = from;
+
+                for (final long journal : journalGenerations()) {
+                    if (journal >= from) {
+                        replay(journalFile(journal), state);
+                        next = Math.max(next, journal + 1);
+                    }
+                }
+            } catch (final IOException exception) {
+                throw new UncheckedIOException("Could not read countdown journal in " + directory, exception);
+            }
+
+            final long now = clock.millis();
+            final List<CountdownRecord> recovered = new ArrayList<>(state.size());
+            synchronized (this) {
+                if (closed || channel != null) {
+                    return List.of();
+                }
+
+                try {
+                    roll(next);
+                } catch (final IOException exception) {
+                    throw new UncheckedIOException("Could not open countdown journal in " + directory, exception);
+                }
+
+                for (final CountdownRecord record : live.values()) {
+                    appendStart(record);
+                    if (record.phase() >= 0) {
+                        appendPhase(record);
+                    }
+                }
+
+                for (final CountdownRecord record : state.values()) {
+                    if (!live.containsKey(record.countdownId())) {
+                        recovered.add(record.rebase(now));
+                    }
+                }
+            }
+
+            return recovered;
+        }
+    }
+
+    /**
+     * Rolls the journal over to a new generation and writes every live countdown into a new snapshot,
+     * deleting the journal generations the snapshot replaces. Does nothing before recovery.
+     */
+    @Override
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            final List<CountdownRecord> records;
+            final long covered;
+            synchronized (this) {
+                if (closed || channel == null) {
+                    return;
+                }
+
+                try {
+                    roll(generation + 1);
+                } catch (final IOException exception) {
+                    logger.log(Level.WARNING, "Could not roll countdown journal in " + directory, exception);
+                    return;
+                }
+
+                records = new ArrayList<>(live.values());
+                covered = generation;
+            }
+
+            try {
+                writeSnapshot(records, covered);
+                for (final long journal : journalGenerations()) {
+                    if (journal < covered) {
+                        Files.deleteIfExists(journalFile(journal));
+                    }
+                }
+            } catch (final IOException exception) {
+                logger.log(Level.WARNING, "Could not write countdown snapshot in " + directory, exception);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered records to the current journal generation and forces them to disk.
+     * Only the write holds the journal lock, engine threads never wait for the disk to sync.
+     */
+    void flush() {
+        final FileChannel written;
+        synchronized (this) {
+            if (channel == null) {
+                return;
+            }
+
+            written = channel;
+            try {
+                drain();
+            } catch (final IOException exception) {
+                logger.log(Level.WARNING, "Could not write countdown journal in " + directory, exception);
+                return;
+            }
+        }
+
+        try {
+            written.force(false);
+        } catch (final ClosedChannelException exception) {
+            // rolled over concurrently, the roll forced this generation before closing it
+        } catch (final IOException exception) {
+            logger.log(Level.WARNING, "Could not sync countdown journal in " + directory, exception);
+        }
+    }
+
+    private void end(final byte type, final String countdownId) {
+        if (closed || live.remove(countdownId) == null || channel == null) {
+            return;
+        }
+
+        final byte[] id = encode(countdownId);
+        reserve(1 + 2 + id.length).put(type).putShort((short) id.length).put(id);
+    }
+
+    private void appendStart(final CountdownRecord record) {
+        final byte[] id = encode(record.countdownId());
+        final long[] phaseTicks = record.phaseTicks();
+        final ByteBuffer out = reserve(1 + 2 + id.length + 4 + 8 * phaseTicks.length);
+        out.put(START).putShort((short) id.length).put(id).putInt(phaseTicks.length);
+        for (final long ticks : phaseTicks) {
+            out.putLong(ticks);
+        }
+    }
+
+    private void appendPhase(final CountdownRecord record) {
+        final byte[] id = encode(record.countdownId());
+        reserve(1 + 2 + id.length + 4 + 8).put(PHASE).putShort((short) id.length).put(id)
+            .putInt(record.phase()).putLong(record.deadline());
+    }
+
+    private ByteBuffer reserve(final int bytes) {
+        if (buffer.remaining() < bytes && channel != null) {
+            try {
+                drain();
+            } catch (final IOException exception) {
+                logger.log(Level.WARNING, "Could not write countdown journal in " + directory, exception);
+            }
+        }
+
+        if (buffer.remaining() < bytes) {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer = grown.put(buffer.flip());
+        }
+
+        return buffer;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.compact();
+        }
+    }
+
+    private void roll(final long next) throws IOException {
+        final FileChannel rolled = FileChannel.open(journalFile(next), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        rolled.write(ByteBuffer.allocate(4).putInt(JOURNAL_MAGIC).flip());
+
+        if (channel != null) {
+            drain();
+            channel.force(false);
+            closeChannel();
+        }
+
+        channel = rolled;
+        generation = next;
+        drain();
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (final IOException exception) {
+            logger.log(Level.WARNING, "Could not close countdown journal in " + directory, exception);
+        }
+
+        channel = null;
+    }
+
+    private void writeSnapshot(final List<CountdownRecord> records, final long covered) throws IOException {
+        final byte[][] ids = new byte[records.size()][];
+        long size = 4 + 8 + 4;
+        for (int index = 0; index < ids.length; index++) {
+            final CountdownRecord record = records.get(index);
+            ids[index] = encode(record.countdownId());
+            size += 2 + ids[index].length + 4 + 8 + 4 + 8L * record.phaseTicks().length;
+        }
+
+        final Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final MappedByteBuffer out = file.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(SNAPSHOT_MAGIC).putLong(covered).putInt(records.size());
+
+            for (int index = 0; index < ids.length; index++) {
+                final CountdownRecord record = records.get(index);
+                out.putShort((short) ids[index].length).put(ids[index]).putInt(record.phase()).putLong(record.deadline());
+                out.putInt(record.phaseTicks().length);
+                for (final long ticks : record.phaseTicks()) {
+                    out.putLong(ticks);
+                }
+            }
+
+            out.force();
+        }
+
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private long readSnapshot(final Map<String, CountdownRecord> state) throws IOException {
+        final Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return 0L;
+        }
+
+        final ByteBuffer in = map(snapshot);
+        if (in.getInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a countdown snapshot: " + snapshot);
+        }
+
+        final long covered = in.getLong();
+        final int count = in.getInt();
+        for (int index = 0; index < count; index++) {
+            final String countdownId = decode(in);
+            final int phase = in.getInt();
+            final long deadline = in.getLong();
+            state.put(countdownId, new CountdownRecord(countdownId, readTicks(in), phase, deadline));
+        }
+
+        return covered;
+    }
+
+    private void replay(final Path journal, final Map<String, CountdownRecord> state) throws IOException {
+        final ByteBuffer in = map(journal);
+        if (in.remaining() < 4 || in.getInt() != JOURNAL_MAGIC) {
+            return;
+        }
+
+        try {
+            while (in.hasRemaining()) {
+                final byte type = in.get();
+                final String countdownId = decode(in);
+                switch (type) {
+                    case START -> state.put(countdownId, new CountdownRecord(countdownId, readTicks(in), -1, 0L));
+                    case PHASE -> {
+                        final int phase = in.getInt();
+                        final long deadline = in.getLong();
+                        state.computeIfPresent(countdownId, (id, record) -> record.advance(phase, deadline));
+                    }
+                    case CANCEL, FINISH -> state.remove(countdownId);
+                    default -> {
+                        logger.warning("Corrupt countdown journal record in " + journal + ", ignoring the rest");
+                        return;
+                    }
+                }
+            }
+        } catch (final BufferUnderflowException exception) {
+            logger.warning("Torn countdown journal record at the end of " + journal + ", ignoring it");
+        }
+    }
+
+    private List<Long> journalGenerations() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX))
+                .map(name -> Long.parseLong(name, JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length(), 10))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path journalFile(final long journal) {
+        return directory.resolve(JOURNAL_PREFIX + journal + JOURNAL_SUFFIX);
+    }
+
+    private static ByteBuffer map(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static long[] readTicks(final ByteBuffer in) {
+        final long[] ticks = new long[in.getInt()];
+        for (int index = 0; index < ticks.length; index++) {
+            ticks[index] = in.getLong();
+        }
+
+        return ticks;
+    }
+
+    private static byte[] encode(final String countdownId) {
+        final byte[] id = countdownId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > 0xFFFF) {
+            throw new IllegalArgumentException("Countdown ID too long to journal: " + id.length + " bytes");
+        }
+
+        return id;
+    }
+
+    private static String decode(final ByteBuffer in) {
+        final byte[] id = new byte[in.getShort() & 0xFFFF];
+        in.get(id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,184 @@
+package dev.nautchkafe.countdown;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A handle to a group of countdowns started together with one shared phase plan.
+ *
+ * <p>The members of a group are registered like any other countdown, so each can be queried and cancelled
+ * by its own ID and fires its own lifecycle events. The engine however runs a single phase chain and a
+ * single timer for the whole group and fans every ticker edge out to the members still running; a
+ * stateful ticker is forked once per member. Cancelling the group stops that one timer; the members are
+ * then closed with their usual cancel events. Pausing, extending or skipping a phase likewise acts on
+ * the group's timer and publishes one event under the group ID.</p>
+ *
+ * <p>Members are journaled individually and are recovered after a restart as independent countdowns.</p>
+ */
+final class CountdownGroup {
+
+    private final String groupId;
+    private final CountdownDispatcher dispatcher;
+    private final CountdownTask task;
+    private final Map<String, CountdownTask> members = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an empty group.
+     *
+     * @param groupId the identifier of the group
+     * @param dispatcher the dispatcher running the group's countdowns
+     */
+    CountdownGroup(final String groupId, final CountdownDispatcher dispatcher) {
+        this.groupId = groupId;
+        this.dispatcher = dispatcher;
+        this.task = new CountdownTask(new CompletableFuture<>(), null, id -> {});
+    }
+
+    /**
+     * Returns the identifier of this group.
+     *
+     * @return the group ID
+     */
+    public String groupId() {
+        return groupId;
+    }
+
+    /**
+     * Returns the IDs of the members that have not ended yet.
+     *
+     * @return a snapshot of the member IDs
+     */
+    public Set<String> members() {
+        return Set.copyOf(members.keySet());
+    }
+
+    /**
+     * Returns whether the group's phase chain has completed or been cancelled.
+     *
+     * @return true if the group has ended
+     */
+    public boolean isDone() {
+        return task.future().isDone();
+    }
+
+    /**
+     * Cancels every member of the group, stopping the group's shared timer.
+     */
+    public void cancelAll() {
+        dispatcher.cancelGroup(this);
+    }
+
+    /**
+     * Pauses the group's shared timer, and with it every member.
+     *
+     * @return true if the pause was queued
+     */
+    public boolean pause() {
+        return dispatcher.pauseGroup(this);
+    }
+
+    /**
+     * Resumes the group's shared timer from where it was paused.
+     *
+     * @return true if the resume was queued
+     */
+    public boolean resume() {
+        return dispatcher.resumeGroup(this);
+    }
+
+    /**
+     * Moves the end of the group's current phase for every member.
+     *
+     * @param amount the time to add to the current phase, rounded toward zero to whole ticks
+     * @return true if the extension was queued
+     */
+    public boolean extend(final Duration amount) {
+        return dispatcher.extendGroup(this, amount.toNanos() / CountdownTimePolicy.NANOS_PER_TICK);
+    }
+
+    /**
+     * Ends the group's current phase for every member.
+     *
+     * @return true if the skip was queued
+     */
+    public boolean skipPhase() {
+        return dispatcher.skipGroupPhase(this);
+    }
+
+    /**
+     * Returns the task owning the shared timer and the lifecycle of the phase chain.
+     *
+     * @return the group task
+     */
+    CountdownTask task() {
+        return task;
+    }
+
+    /**
+     * Adds a registered, running countdown to the group.
+     *
+     * @param countdownId the member ID
+     * @param member the member's task
+     */
+    void join(final String countdownId, final CountdownTask member) {
+        members.put(countdownId, member);
+    }
+
+    /**
+     * Returns whether the given member is still running in the group.
+     *
+     * @param countdownId the member ID
+     * @return true if the member has joined the group and not ended yet
+     */
+    boolean isRunning(final String countdownId) {
+        final CountdownTask member = members.get(countdownId);
+        return member != null && member.state().get() == CountdownState.RUNNING;
+    }
+
+    /**
+     * Runs an action for every member that is still running, dropping members that have ended.
+     * Once no member is left running, the group's phase chain is abandoned.
+     *
+     * @param action the action receiving each running member ID and its task
+     */
+    void forEachRunning(final BiConsumer<String, CountdownTask> action) {
+        members.forEach((countdownId, member) -> {
+            if (member.state().get() == CountdownState.RUNNING) {
+                action.accept(countdownId, member);
+            } else {
+                members.remove(countdownId, member);
+            }
+        });
+
+        if (members.isEmpty() && task.requestCancel() == CountdownState.RUNNING) {
+            task.future().cancel(true);
+            task.release();
+        }
+    }
+
+    /**
+     * Removes and returns every member, for the group to complete or cancel them.
+     *
+     * @param action the action receiving each member ID and task
+     */
+    void drain(final MemberAction action) {
+        members.forEach((countdownId, member) -> {
+            if (members.remove(countdownId, member)) {
+                action.accept(countdownId, member);
+            }
+        });
+    }
+
+    /**
+     * An action applied to a member drained from the group.
+     */
+    @FunctionalInterface
+    interface MemberAction {
+
+        void accept(final String countdownId, final CountdownTask member);
+    }
+}
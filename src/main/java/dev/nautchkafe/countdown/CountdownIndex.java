@@ -0,0 +1,220 @@
+package dev.nautchkafe.countdown;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes over the running countdowns, maintained by the engine: one ordered by deadline, and one
+ * of the tags attached to countdowns when they start.
+ *
+ * <p>Deadlines are {@link CountdownClock#nanoTime() clock} nanoseconds, estimated whenever a countdown's end
+ * moves: when it starts, enters a phase, is resumed, extended, skipped or moved. A paused countdown leaves the
+ * deadline index and keeps the time it had left. Updates happen at those transitions only, never per tick.</p>
+ *
+ * <p>Both indexes are concurrent skip lists, so deadline range and tag queries return lazy views walked in
+ * order without copying anything; only tag prefix queries collect their range, to return each countdown
+ * once. The views are weakly consistent: a countdown started or ended while a view is walked may or may not
+ * appear in it, but a view never fails and never returns an entry twice for one tag.
+ * Updates of a single countdown are serialized and apply only to the task they were made for: an update
+ * arriving after its countdown has ended, or after the ID has been started again, is ignored, so ended
+ * countdowns neither linger in the indexes nor overwrite the countdown that took over their ID.</p>
+ */
+final class CountdownIndex {
+
+    private static final long RUNNING = -1L;
+    private static final Comparator<String> IDS = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> deadlines = new ConcurrentSkipListSet<>(
+        Comparator.comparingLong(Entry::deadline).thenComparing(Entry::countdownId, IDS));
+    private final NavigableSet<Tag> tags = new ConcurrentSkipListSet<>(
+        Comparator.comparing(Tag::tag).thenComparing(Tag::countdownId, IDS));
+
+    /**
+     * Indexes a countdown that has just started.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param task the registered task of the countdown
+     * @param tags the tags of the countdown
+     * @param deadline the clock time at which the countdown is expected to end
+     */
+    void started(final String countdownId, final CountdownTask task, final Set<String> tags, final long deadline) {
+        final Entry entry = new Entry(countdownId, task, deadline, RUNNING, tags);
+        final Entry previous = entries.put(countdownId, entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+
+        for (final String tag : tags) {
+            this.tags.add(new Tag(tag, countdownId));
+        }
+
+        deadlines.add(entry);
+    }
+
+    /**
+     * Moves the deadline of a running countdown. Does nothing if the task is no longer indexed under the ID.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param task the task the update was made for
+     * @param deadline the clock time at which the countdown is now expected to end
+     */
+    void moved(final String countdownId, final CountdownTask task, final long deadline) {
+        entries.computeIfPresent(countdownId, (id, entry) -> {
+            if (entry.task() != task) {
+                return entry;
+            }
+
+            deadlines.remove(entry);
+            final Entry moved = new Entry(id, task, deadline, RUNNING, entry.tags());
+            deadlines.add(moved);
+            return moved;
+        });
+    }
+
+    /**
+     * Takes a paused countdown off the deadline index, keeping the time it has left.
+     * Does nothing if the task is no longer indexed under the ID.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param task the task the update was made for
+     * @param remainingNanos the time left in the countdown, in nanoseconds
+     */
+    void paused(final String countdownId, final CountdownTask task, final long remainingNanos) {
+        entries.computeIfPresent(countdownId, (id, entry) -> {
+            if (entry.task() != task) {
+                return entry;
+            }
+
+            deadlines.remove(entry);
+            return new Entry(id, task, 0L, Math.max(0L, remainingNanos), entry.tags());
+        });
+    }
+
+    /**
+     * Removes an ended countdown from every index. Does nothing if the task is no longer indexed under the ID.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param task the task that ended
+     */
+    void removed(final String countdownId, final CountdownTask task) {
+        entries.computeIfPresent(countdownId, (id, entry) -> {
+            if (entry.task() != task) {
+                return entry;
+            }
+
+            unindex(entry);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the time left in the given countdown.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param now the current clock time
+     * @return the nanoseconds left, or {@code -1} if the countdown is not running
+     */
+    long remainingNanos(final String countdownId, final long now) {
+        final Entry entry = entries.get(countdownId);
+        if (entry == null) {
+            return -1L;
+        }
+
+        return entry.paused() != RUNNING ? entry.paused() : Math.max(0L, entry.deadline() - now);
+    }
+
+    /**
+     * Returns the running countdowns expected to end in the given clock time range, earliest first.
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return a lazy view of the countdown IDs
+     */
+    Stream<String> endingBetween(final long from, final long to) {
+        if (from >= to) {
+            return Stream.empty();
+        }
+
+        return deadlines.subSet(new Entry(null, null, from, RUNNING, Set.of()), true,
+            new Entry(null, null, to, RUNNING, Set.of()), false).stream().map(Entry::countdownId);
+    }
+
+    /**
+     * Returns the running countdowns carrying the given tag, in ID order.
+     *
+     * @param tag the tag
+     * @return a lazy view of the countdown IDs
+     */
+    Stream<String> tagged(final String tag) {
+        return tags.tailSet(new Tag(tag, null)).stream()
+            .takeWhile(entry -> entry.tag().equals(tag))
+            .map(Tag::countdownId);
+    }
+
+    /**
+     * Returns the running countdowns carrying a tag starting with the given prefix, such as a namespace.
+     *
+     * <p>The prefix range spans several tags, so a countdown carrying more than one of them appears in it
+     * once per tag. Unlike the other queries, the range is therefore walked eagerly and collected into a set,
+     * which returns each countdown once, in the order of its first matching tag.</p>
+     *
+     * @param prefix the tag prefix
+     * @return the countdown IDs
+     */
+    Stream<String> taggedWithPrefix(final String prefix) {
+        final Set<String> countdownIds = new LinkedHashSet<>();
+        for (final Tag entry : tags.tailSet(new Tag(prefix, null))) {
+            if (!entry.tag().startsWith(prefix)) {
+                break;
+            }
+
+            countdownIds.add(entry.countdownId());
+        }
+
+        return countdownIds.stream();
+    }
+
+    /**
+     * Returns the number of countdowns indexed.
+     *
+     * @return the indexed countdown count
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private void unindex(final Entry entry) {
+        deadlines.remove(entry);
+        for (final String tag : entry.tags()) {
+            tags.remove(new Tag(tag, entry.countdownId()));
+        }
+    }
+
+    /**
+     * The indexed state of one countdown's task: its deadline while running, or the time it had left when paused.
+     */
+    private record Entry(
+        String countdownId,
+        CountdownTask task,
+        long deadline,
+        long paused,
+        Set<String> tags
+    ) {
+    }
+
+    /**
+     * One tag of one countdown.
+     */
+    private record Tag(
+        String tag,
+        String countdownId
+    ) {
+    }
+}
@@ -0,0 +1,102 @@
+package dev.nautchkafe.countdown;
+
+import java.util.List;
+
+/**
+ * Records the lifecycle of countdowns so they can outlive the engine that ran them.
+ *
+ * <p>The dispatcher reports every start, every armed phase and every end of a countdown. The journal
+ * keeps only what is needed to rebuild the countdown later: its phase plan and the deadline of the
+ * phase currently armed. {@link #none()} discards everything and is used when persistence is off;
+ * {@link CountdownFileJournal} writes the records to disk.</p>
+ */
+interface CountdownJournal {
+
+    /**
+     * Records the start of a countdown.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param phaseTicks the duration of every phase of the countdown, in ticks; shared with the countdown's
+     *                   plan, so it may be kept but must not be modified
+     */
+    void started(final String countdownId, final long[] phaseTicks);
+
+    /**
+     * Records that a phase of a countdown has been armed.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param phase the index of the armed phase
+     * @param ticks the ticks left until the phase completes
+     */
+    void advanced(final String countdownId, final int phase, final long ticks);
+
+    /**
+     * Records that a countdown has been cancelled.
+     *
+     * @param countdownId the identifier of the countdown
+     */
+    void cancelled(final String countdownId);
+
+    /**
+     * Records that a countdown has completed its last phase.
+     *
+     * @param countdownId the identifier of the countdown
+     */
+    void finished(final String countdownId);
+
+    /**
+     * Loads the countdowns persisted by a previous run and starts persisting the records of this one.
+     *
+     * @return the recovered countdowns, rebased onto the current time
+     */
+    List<CountdownRecord> recover();
+
+    /**
+     * Compacts the persisted state into a snapshot of the countdowns currently running.
+     */
+    void snapshot();
+
+    /**
+     * Flushes pending records and stops recording. Records reported afterwards are discarded.
+     */
+    void close();
+
+    /**
+     * Returns a journal discarding every record.
+     *
+     * @return a journal that persists nothing
+     */
+    static CountdownJournal none() {
+        return new CountdownJournal() {
+
+            @Override
+            public void started(final String countdownId, final long[] phaseTicks) {
+            }
+
+            @Override
+            public void advanced(final String countdownId, final int phase, final long ticks) {
+            }
+
+            @Override
+            public void cancelled(final String countdownId) {
+            }
+
+            @Override
+            public void finished(final String countdownId) {
+            }
+
+            @Override
+            public List<CountdownRecord> recover() {
+                return List.of();
+            }
+
+            @Override
+            public void snapshot() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,277 @@
+package dev.nautchkafe.countdown;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+
+/**
+ * An index of running countdowns keyed by a primitive key of up to 128 bits, such as a {@link java.util.UUID}
+ * split into its two halves or an entity ID.
+ *
+ * <p>Keys live in open-addressing tables of primitive {@code long} arrays, striped into segments by key hash,
+ * so lookups neither box the key nor build a string; they take no lock either, validating an optimistic read
+ * of the segment instead. Each slot keeps the countdown's task and its string ID, which the engine uses in
+ * events and callbacks and which is therefore built once per start rather than on every lookup.</p>
+ *
+ * <p>Entries are never removed eagerly. A slot whose task has reached a terminal state reads as absent and is
+ * reused by the next start of the same key; ended entries are purged whenever a segment would otherwise grow,
+ * which bounds each table to twice the countdowns running in it.</p>
+ */
+final class CountdownKeyStore {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    /**
+     * Constructs an empty store.
+     */
+    CountdownKeyStore() {
+        for (int index = 0; index < segments.length; index++) {
+            segments[index] = new Segment();
+        }
+    }
+
+    /**
+     * Returns whether a countdown is running under the given key.
+     *
+     * @param high the high 64 bits of the key
+     * @param low the low 64 bits of the key
+     * @return true if a countdown under the key has not ended yet
+     */
+    boolean contains(final long high, final long low) {
+        return get(high, low) != null;
+    }
+
+    /**
+     * Returns the task of the countdown running under the given key.
+     *
+     * @param high the high 64 bits of the key
+     * @param low the low 64 bits of the key
+     * @return the task, or {@code null} if no countdown under the key is running
+     */
+    CountdownTask get(final long high, final long low) {
+        final long hash = hash(high, low);
+        return segmentOf(hash).find(hash, high, low, (countdownId, task) -> task);
+    }
+
+    /**
+     * Returns the string ID and the task of the countdown running under the given key, read together
+     * in a single lookup so that both belong to the same start of the key.
+     *
+     * @param high the high 64 bits of the key
+     * @param low the low 64 bits of the key
+     * @return the entry, or {@code null} if no countdown under the key is running
+     */
+    Entry entry(final long high, final long low) {
+        final long hash = hash(high, low);
+        return segmentOf(hash).find(hash, high, low, Entry::new);
+    }
+
+    /**
+     * Indexes a countdown under the given key, unless another countdown under it is still running.
+     *
+     * @param high the high 64 bits of the key
+     * @param low the low 64 bits of the key
+     * @param countdownId the string ID of the countdown
+     * @param task the task of the countdown
+     * @return true if the countdown was indexed
+     */
+    boolean put(final long high, final long low, final String countdownId, final CountdownTask task) {
+        final long hash = hash(high, low);
+        return segmentOf(hash).put(hash, high, low, countdownId, task);
+    }
+
+    /**
+     * Returns the number of countdowns indexed and still running.
+     *
+     * @return the live entry count
+     */
+    int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            size += segment.live();
+        }
+
+        return size;
+    }
+
+    private Segment segmentOf(final long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static long hash(final long high, final long low) {
+        long hash = high * 0x9E3779B97F4A7C15L + low;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static boolean isLive(final CountdownTask task) {
+        return task != null && !task.state().get().isTerminal();
+    }
+
+    /**
+     * A countdown indexed under a key: its string ID and its task.
+     */
+    record Entry(
+        String countdownId,
+        CountdownTask task
+    ) {
+    }
+
+    /**
+     * One linear-probing table. Writers hold the write lock; readers probe under an optimistic stamp and
+     * retry under the read lock only if a writer got in the way.
+     */
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private long[] highs = new long[INITIAL_CAPACITY];
+        private long[] lows = new long[INITIAL_CAPACITY];
+        private CountdownTask[] tasks = new CountdownTask[INITIAL_CAPACITY];
+        private String[] ids = new String[INITIAL_CAPACITY];
+        private int used;
+
+        private <T> T find(final long hash, final long high, final long low,
+                final BiFunction<String, CountdownTask, T> result) {
+            final long stamp = lock.tryOptimisticRead();
+            final T found = probe(hash, high, low, result);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+
+            final long read = lock.readLock();
+            try {
+                return probe(hash, high, low, result);
+            } finally {
+                lock.unlockRead(read);
+            }
+        }
+
+        private <T> T probe(final long hash, final long high, final long low,
+                final BiFunction<String, CountdownTask, T> result) {
+            final long[] highs = this.highs;
+            final long[] lows = this.lows;
+            final CountdownTask[] tasks = this.tasks;
+            final String[] ids = this.ids;
+            final int mask = tasks.length - 1;
+            if (highs.length != tasks.length || lows.length != tasks.length || ids.length != tasks.length) {
+                return null;
+            }
+
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                final CountdownTask task = tasks[slot];
+                if (task == null) {
+                    return null;
+                }
+
+                if (highs[slot] == high && lows[slot] == low) {
+                    return isLive(task) ? result.apply(ids[slot], task) : null;
+                }
+            }
+        }
+
+        private boolean put(final long hash, final long high, final long low, final String countdownId,
+                final CountdownTask task) {
+            final long stamp = lock.writeLock();
+            try {
+                final int mask = tasks.length - 1;
+                int slot = (int) hash & mask;
+                while (tasks[slot] != null) {
+                    if (highs[slot] == high && lows[slot] == low) {
+                        if (isLive(tasks[slot])) {
+                            return false;
+                        }
+
+                        tasks[slot] = task;
+                        ids[slot] = countdownId;
+                        return true;
+                    }
+
+                    slot = (slot + 1) & mask;
+                }
+
+                if ((used + 1) * 2 > tasks.length) {
+                    rehash();
+                    return insert(hash, high, low, countdownId, task);
+                }
+
+                highs[slot] = high;
+                lows[slot] = low;
+                ids[slot] = countdownId;
+                tasks[slot] = task;
+                used++;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private boolean insert(final long hash, final long high, final long low, final String countdownId,
+                final CountdownTask task) {
+            final int mask = tasks.length - 1;
+            int slot = (int) hash & mask;
+            while (tasks[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            highs[slot] = high;
+            lows[slot] = low;
+            ids[slot] = countdownId;
+            tasks[slot] = task;
+            used++;
+            return true;
+        }
+
+        /**
+         * Rebuilds the table without its ended entries, doubling it only if the live entries still fill half of it.
+         */
+        private void rehash() {
+            final long[] oldHighs = highs;
+            final long[] oldLows = lows;
+            final CountdownTask[] oldTasks = tasks;
+            final String[] oldIds = ids;
+
+            final int live = live(oldTasks);
+            int capacity = oldTasks.length;
+            while ((live + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+
+            highs = new long[capacity];
+            lows = new long[capacity];
+            tasks = new CountdownTask[capacity];
+            ids = new String[capacity];
+            used = 0;
+
+            for (int slot = 0; slot < oldTasks.length; slot++) {
+                if (isLive(oldTasks[slot])) {
+                    insert(hash(oldHighs[slot], oldLows[slot]), oldHighs[slot], oldLows[slot], oldIds[slot], oldTasks[slot]);
+                }
+            }
+        }
+
+        private int live() {
+            final long stamp = lock.readLock();
+            try {
+                return live(tasks);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private static int live(final CountdownTask[] tasks) {
+            int live = 0;
+            for (final CountdownTask task : tasks) {
+                if (isLive(task)) {
+                    live++;
+                }
+            }
+
+            return live;
+        }
+    }
+}
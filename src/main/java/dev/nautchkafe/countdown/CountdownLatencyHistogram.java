@@ -0,0 +1,114 @@
+package dev.nautchkafe.countdown;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with logarithmic buckets, in the spirit of HdrHistogram.
+ *
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so any recorded value
+ * is reported within 12.5% of its true value across the whole range of a {@code long}. Recording is a
+ * handful of bit operations and one atomic increment; the footprint is fixed at a few kilobytes.</p>
+ */
+final class CountdownLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one measured value.
+     *
+     * @param nanos the measured latency in nanoseconds, negative values count as zero
+     */
+    void record(final long nanos) {
+        final long value = Math.max(nanos, 0L);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the value count
+     */
+    long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the maximum in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    double mean() {
+        final long values = count.sum();
+        return values == 0 ? 0.0 : (double) sum.sum() / values;
+    }
+
+    /**
+     * Returns the value below which the given share of the recorded values fall,
+     * reported as the upper bound of its bucket.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the value at that percentile in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    long valueAtPercentile(final double percentile) {
+        final long values = count.sum();
+        if (values == 0) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(values * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int index = 0; index < buckets.length(); index++) {
+            seen += buckets.get(index);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(index), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    private static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = index % SUB_BUCKETS;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
@@ -0,0 +1,22 @@
+package dev.nautchkafe.countdown;
+
+import java.util.Set;
+
+/**
+ * A record describing the result of a leak scan over a {@link CountdownTimer}.
+ *
+ * <p>An orphaned timer is a live wheel entry whose owning countdown is no longer registered.
+ * A stale task is a registered countdown whose future has already finished or been cancelled.
+ * A healthy engine reports neither, and its live timer count never exceeds its registered countdowns.</p>
+ */
+record CountdownLeakReport(
+    int registeredTasks,
+    int liveTimers,
+    Set<String> orphanedTimers,
+    Set<String> staleTasks
+) {
+
+    boolean isClean() {
+        return orphanedTimers.isEmpty() && staleTasks.isEmpty();
+    }
+}
@@ -0,0 +1,281 @@
+package dev.nautchkafe.countdown;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * The {@code CountdownMetrics} class collects the hot-path metrics of one countdown engine.
+ *
+ * <p>Counters are {@link LongAdder}s and latencies go into {@link CountdownLatencyHistogram}s, so recording
+ * never contends between shards. Recording is off until {@link #setEnabled(boolean)} turns it on; while off
+ * every recording method returns after a single field read and the hot paths skip their clock reads.
+ * Rates are sampled by the tick drivers once per second of engine time.</p>
+ */
+final class CountdownMetrics implements CountdownMetricsMXBean {
+
+    private static final long SAMPLE_NANOS = 1_000_000_000L;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder mainThreadQueue = new LongAdder();
+    private final CountdownLatencyHistogram tickerLatency = new CountdownLatencyHistogram();
+    private final CountdownLatencyHistogram eventLatency = new CountdownLatencyHistogram();
+    private volatile boolean enabled;
+    private volatile IntSupplier activeCountdowns = () -> 0;
+    private volatile long sampledAt = Long.MIN_VALUE;
+    private long sampledStarts;
+    private long sampledCancels;
+    private long sampledTicks;
+    private volatile double startsPerSecond;
+    private volatile double cancelsPerSecond;
+    private volatile double ticksPerSecond;
+
+    /**
+     * Returns whether metrics are being recorded.
+     *
+     * @return true if recording is on
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches recording on or off. Values recorded so far are kept.
+     *
+     * @param enabled whether to record metrics
+     */
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Binds the gauge reporting the number of registered countdowns.
+     *
+     * @param activeCountdowns the supplier of the registered countdown count
+     */
+    void bindActiveCountdowns(final IntSupplier activeCountdowns) {
+        this.activeCountdowns = activeCountdowns;
+    }
+
+    void countdownStarted() {
+        if (enabled) {
+            started.increment();
+        }
+    }
+
+    void countdownCancelled() {
+        if (enabled) {
+            cancelled.increment();
+        }
+    }
+
+    void countdownFinished() {
+        if (enabled) {
+            finished.increment();
+        }
+    }
+
+    void ticksProcessed(final long count) {
+        if (enabled) {
+            ticks.add(count);
+        }
+    }
+
+    void tickerLatency(final long nanos) {
+        tickerLatency.record(nanos);
+    }
+
+    void eventLatency(final long nanos) {
+        eventLatency.record(nanos);
+    }
+
+    /**
+     * Wraps a task about to be handed to the main thread so it is counted in the main-thread queue depth
+     * until it runs. Returns the task itself while recording is off.
+     *
+     * @param task the task hopping to the main thread
+     * @return the task to submit
+     */
+    Runnable mainThreadHop(final Runnable task) {
+        if (!enabled) {
+            return task;
+        }
+
+        mainThreadQueue.increment();
+        return () -> {
+            mainThreadQueue.decrement();
+            task.run();
+        };
+    }
+
+    /**
+     * Recomputes the rates once a full sampling window of engine time has passed since the last sample.
+     *
+     * @param nanoTime the current monotonic time of the engine clock
+     */
+    void sample(final long nanoTime) {
+        final long last = sampledAt;
+        if (last != Long.MIN_VALUE && nanoTime - last < SAMPLE_NANOS) {
+            return;
+        }
+
+        synchronized (this) {
+            if (sampledAt != last) {
+                return;
+            }
+
+            final long starts = started.sum();
+            final long cancels = cancelled.sum();
+            final long ticked = ticks.sum();
+            if (last != Long.MIN_VALUE) {
+                final double seconds = (nanoTime - last) / (double) SAMPLE_NANOS;
+                startsPerSecond = (starts - sampledStarts) / seconds;
+                cancelsPerSecond = (cancels - sampledCancels) / seconds;
+                ticksPerSecond = (ticked - sampledTicks) / seconds;
+            }
+
+            sampledStarts = starts;
+            sampledCancels = cancels;
+            sampledTicks = ticked;
+            sampledAt = nanoTime;
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     *
+     * @param name the name distinguishing this engine from others in the same JVM
+     * @return the name the MBean was registered under
+     * @throws IllegalStateException if the MBean could not be registered
+     */
+    ObjectName registerMBean(final String name) {
+        try {
+            final ObjectName objectName = new ObjectName("dev.nautchkafe.countdown:type=CountdownEngine,name="
+                + ObjectName.quote(name));
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+
+            server.registerMBean(new StandardMBean(this, CountdownMetricsMXBean.class, true), objectName);
+            return objectName;
+        } catch (final JMException exception) {
+            throw new IllegalStateException("Could not register countdown metrics MBean " + name, exception);
+        }
+    }
+
+    /**
+     * Removes an MBean registered by {@link #registerMBean(String)}, if it is still registered.
+     *
+     * @param objectName the name returned on registration
+     */
+    static void unregisterMBean(final ObjectName objectName) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (final JMException exception) {
+            throw new IllegalStateException("Could not unregister countdown metrics MBean " + objectName, exception);
+        }
+    }
+
+    @Override
+    public int getActiveCountdowns() {
+        return activeCountdowns.getAsInt();
+    }
+
+    @Override
+    public long getStartedTotal() {
+        return started.sum();
+    }
+
+    @Override
+    public long getCancelledTotal() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public long getFinishedTotal() {
+        return finished.sum();
+    }
+
+    @Override
+    public long getTicksTotal() {
+        return ticks.sum();
+    }
+
+    @Override
+    public double getStartsPerSecond() {
+        return startsPerSecond;
+    }
+
+    @Override
+    public double getCancelsPerSecond() {
+        return cancelsPerSecond;
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    @Override
+    public long getMainThreadQueueDepth() {
+        return mainThreadQueue.sum();
+    }
+
+    @Override
+    public long getTickerCallbacks() {
+        return tickerLatency.count();
+    }
+
+    @Override
+    public double getTickerLatencyMeanNanos() {
+        return tickerLatency.mean();
+    }
+
+    @Override
+    public long getTickerLatencyP50Nanos() {
+        return tickerLatency.valueAtPercentile(50.0);
+    }
+
+    @Override
+    public long getTickerLatencyP99Nanos() {
+        return tickerLatency.valueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getTickerLatencyMaxNanos() {
+        return tickerLatency.max();
+    }
+
+    @Override
+    public long getEventsDispatched() {
+        return eventLatency.count();
+    }
+
+    @Override
+    public long getEventDispatchLatencyP50Nanos() {
+        return eventLatency.valueAtPercentile(50.0);
+    }
+
+    @Override
+    public long getEventDispatchLatencyP99Nanos() {
+        return eventLatency.valueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getEventDispatchLatencyMaxNanos() {
+        return eventLatency.max();
+    }
+}
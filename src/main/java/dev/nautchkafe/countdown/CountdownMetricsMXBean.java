@@ -0,0 +1,53 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * The JMX management interface of the countdown engine metrics.
+ *
+ * <p>Registered by {@link CountdownMetrics#registerMBean(String)} under
+ * {@code dev.nautchkafe.countdown:type=CountdownEngine,name=<name>}. Latencies are in nanoseconds,
+ * rates are per second over the last completed sampling window. Ticks are counted per shard, so an
+ * engine keeping up with the clock processes twenty ticks per second for every shard. Recording can be
+ * switched on and off at runtime through the {@code Enabled} attribute.</p>
+ */
+public interface CountdownMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    int getActiveCountdowns();
+
+    long getStartedTotal();
+
+    long getCancelledTotal();
+
+    long getFinishedTotal();
+
+    long getTicksTotal();
+
+    double getStartsPerSecond();
+
+    double getCancelsPerSecond();
+
+    double getTicksPerSecond();
+
+    long getMainThreadQueueDepth();
+
+    long getTickerCallbacks();
+
+    double getTickerLatencyMeanNanos();
+
+    long getTickerLatencyP50Nanos();
+
+    long getTickerLatencyP99Nanos();
+
+    long getTickerLatencyMaxNanos();
+
+    long getEventsDispatched();
+
+    long getEventDispatchLatencyP50Nanos();
+
+    long getEventDispatchLatencyP99Nanos();
+
+    long getEventDispatchLatencyMaxNanos();
+}
@@ -3,11 +3,39 @@ package dev.nautchkafe.countdown;
 import java.time.Duration;
 
 /**
- * A record representing a countdown phase, which includes a specific duration
- * and a countdown ticker that can be used to track the time.
+ * A record representing a countdown phase, which includes a specific duration,
+ * a countdown ticker that can be used to track the time, and the cadence
+ * deciding on which ticks that ticker is invoked.
  */
 record CountdownPhase(
     Duration duration,
-    CountdownTicker ticker
+    CountdownTicker ticker,
+    CountdownCadence cadence
 ) {
+
+    CountdownPhase(final Duration duration, final CountdownTicker ticker) {
+        this(duration, ticker, CountdownCadence.everyTick());
+    }
+
+    /**
+     * Returns this phase with a display showing its time left, rendered after the phase's own ticker on
+     * every edge of its cadence.
+     *
+     * @param display the display to attach
+     * @return the phase with the display attached
+     */
+    CountdownPhase withDisplay(final CountdownDisplay display) {
+        return new CountdownPhase(duration, ticker.andThen(display.over(ticks())), cadence);
+    }
+
+    /**
+     * Returns the duration of this phase in ticks, rounded up so that a phase never ends early
+     * and a phase shorter than one tick still lasts one tick.
+     *
+     * @return the number of ticks the phase lasts
+     */
+    long ticks() {
+        final long nanos = duration.toNanos();
+        return nanos / CountdownTimePolicy.NANOS_PER_TICK + (nanos % CountdownTimePolicy.NANOS_PER_TICK > 0 ? 1 : 0);
+    }
 }
@@ -1,69 +1,610 @@
 package dev.nautchkafe.countdown;
 
-import java.util.Iterator;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicInteger;
+import dev.nautchkafe.countdown.event.CountdownExtendEvent;
+import dev.nautchkafe.countdown.event.CountdownPauseEvent;
+import dev.nautchkafe.countdown.event.CountdownResumeEvent;
+import dev.nautchkafe.countdown.event.CountdownSkipPhaseEvent;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * The {@code CountdownPhaseProcessor} class is responsible for processing the phases of a countdown.
  * Each phase has a specific duration, and the countdown progresses through these phases.
- * 
- * <p>This final class is designed for efficient countdown handling with asynchronous task scheduling.</p>
+ *
+ * <p>A countdown is driven by a single timer for its whole {@link CountdownPlan}: when phase N reaches
+ * zero the same timer moves on to phase N+1 from the tick that completed it. No thread ever waits for a
+ * phase to finish, and nothing but the timer and its cursor into the shared plan is kept per countdown,
+ * so the number of concurrent countdowns is bounded by memory rather than by threads.</p>
+ *
+ * <p>Running countdowns can be paused, resumed, extended and moved past their current phase. These controls
+ * are queued to the thread driving the countdown's timer and applied at the start of its next tick, where
+ * each one suspends, relinks or moves that single timer; the task, its timer and its position in the plan
+ * are kept throughout.</p>
  */
 final class CountdownPhaseProcessor {
-    
+
     private final CountdownScheduler scheduler;
+    private final CountdownJournal journal;
+    private final CountdownIndex index;
+    private final Completion onFinished;
 
     /**
      * Constructs a {@code CountdownPhaseProcessor} with the specified scheduler.
      *
      * @param scheduler the scheduler used for running tasks asynchronously.
+     * @param journal the journal recording every armed phase.
+     * @param index the index kept up to date with the deadline of every countdown.
+     * @param onFinished the action run on the driver thread once a countdown has completed its last phase.
      */
-    CountdownPhaseProcessor(final CountdownScheduler scheduler) {
+    CountdownPhaseProcessor(final CountdownScheduler scheduler, final CountdownJournal journal,
+            final CountdownIndex index, final Completion onFinished) {
         this.scheduler = scheduler;
+        this.journal = journal;
+        this.index = index;
+        this.onFinished = onFinished;
     }
 
     /**
-     * Processes all phases in the countdown associated with the given countdown ID.
-     * 
-     * <p>Each countdown phase is executed until completion according to its duration.</p>
+     * Arms the phases of the countdown associated with the given countdown ID, starting from the given phase.
+     *
+     * <p>Each countdown phase is executed until completion according to its duration, after which the
+     * following phase is armed on the same timer. The task's future is completed once the last phase has
+     * run; cancelling the task stops the chain and releases the timer.</p>
      *
      * @param countdownId the identifier of the countdown being processed.
-     * @param iterator an iterator over countdown phases to be processed.
-     * @throws InterruptedException if the thread is interrupted while waiting for a countdown phase to complete.
+     * @param plan the plan of the countdown.
+     * @param index the index of the phase to arm.
+     * @param ticks the ticks left in that phase.
+     * @param task the task owning the timer of the countdown.
+     */
+    void processPhases(final String countdownId, final CountdownPlan plan, final int index, final long ticks,
+            final CountdownTask task) {
+        if (!task.future().isDone()) {
+            arm(countdownId, new SoloRun(this, countdownId, plan, task), index, ticks, task);
+        }
+    }
+
+    /**
+     * Arms the phases of a countdown group.
+     *
+     * <p>The group runs a single phase chain owned by its own task; every edge of a phase is fanned out
+     * to the members still running, each with its own fork of the phase ticker and its own callback guard
+     * record. The group task's future is completed once the last phase has run.</p>
+     *
+     * @param group the group being processed.
+     * @param plan the plan shared by the members.
+     */
+    void processGroupPhases(final CountdownGroup group, final CountdownPlan plan) {
+        if (!group.task().future().isDone()) {
+            final long ticks = plan.size() > 0 ? plan.ticks(0) : 0L;
+            arm(group.groupId(), new GroupRun(this, group, plan), 0, ticks, group.task());
+        }
+    }
+
+    private void arm(final String owner, final PhaseRun run, final int index, final long ticks,
+            final CountdownTask task) {
+        if (!run.enter(index, ticks)) {
+            run.finish();
+            return;
+        }
+
+        task.arm(scheduler.schedule(owner, run, run.delay(), run.delay()));
+    }
+
+    /**
+     * Pauses the countdown or group owning the given task. Its ticker stays silent until it is resumed.
+     *
+     * @param task the task owning the timer
+     * @return true if the pause was queued, false if the task has no timer of its own
+     */
+    boolean pause(final CountdownTask task) {
+        return control(task, (run, entry) -> run.pause(entry));
+    }
+
+    /**
+     * Resumes the paused countdown or group owning the given task.
+     *
+     * @param task the task owning the timer
+     * @return true if the resume was queued, false if the task has no timer of its own
+     */
+    boolean resume(final CountdownTask task) {
+        return control(task, (run, entry) -> run.resume(entry));
+    }
+
+    /**
+     * Moves the end of the current phase of the countdown or group owning the given task.
+     *
+     * @param task the task owning the timer
+     * @param ticks the ticks to add, or to remove if negative; the phase keeps at least one tick
+     * @return true if the extension was queued, false if the task has no timer of its own
+     */
+    boolean extend(final CountdownTask task, final long ticks) {
+        return control(task, (run, entry) -> run.extend(entry, ticks));
+    }
+
+    /**
+     * Ends the current phase of the countdown or group owning the given task right away, entering the
+     * next phase or completing the countdown if it was the last one.
+     *
+     * @param task the task owning the timer
+     * @return true if the skip was queued, false if the task has no timer of its own
+     */
+    boolean skipPhase(final CountdownTask task) {
+        return control(task, (run, entry) -> run.skip(entry));
+    }
+
+    /**
+     * Moves the countdown or group owning the given task to a position in its plan, such as one
+     * replicated from another server. Nothing is published; a paused countdown stays paused.
+     *
+     * @param task the task owning the timer
+     * @param phase the index of the phase to run
+     * @param ticks the ticks left in that phase, at least one
+     * @return true if the move was queued, false if the task has no timer of its own
+     */
+    boolean seek(final CountdownTask task, final int phase, final long ticks) {
+        return control(task, (run, entry) -> run.seek(entry, phase, ticks));
+    }
+
+    /**
+     * Closes the tickers of the cancelled countdown or group owning the given task on its driver thread,
+     * after any edge still in flight. Must be called before the task releases its timer.
+     *
+     * @param task the cancelled task
+     */
+    void cancelled(final CountdownTask task) {
+        control(task, (run, entry) -> run.close());
+    }
+
+    private static boolean control(final CountdownTask task, final Control control) {
+        final CountdownWheelEntry entry = task.timer().get();
+        if (entry == null || !(entry.task() instanceof final PhaseRun run)) {
+            return false;
+        }
+
+        entry.execute(() -> control.apply(run, entry));
+        return true;
+    }
+
+    /**
+     * Runs the ticker of one countdown under the callback guard, recording its latency.
+     *
+     * @param countdownId the identifier of the countdown.
+     * @param ticker the countdown's own fork of the phase ticker.
+     * @param ticksLeft the ticks left in the phase.
      */
-    void processPhases(final String countdownId, final Iterator<CountdownPhase> iterator) throws InterruptedException {
-        while (iterator.hasNext()) {
-            final CountdownPhase phase = iterator.next();
-            runPhase(countdownId, phase);
+    private void fire(final String countdownId, final CountdownTicker ticker, final long ticksLeft) {
+        final long elapsed = scheduler.guard().invoke(countdownId,
+            () -> ticker.apply(countdownId, ticksLeft / 20, ticksLeft));
+        if (elapsed >= 0 && scheduler.metrics().isEnabled()) {
+            scheduler.metrics().tickerLatency(elapsed);
         }
     }
 
     /**
-     * Executes a single countdown phase given by the specified countdown ID.
-     * 
-     * <p>The phase's countdown is asynchronously ticked down until completion.</p>
+     * Closes one countdown's fork of a phase ticker under the callback guard.
+     *
+     * @param countdownId the identifier of the countdown.
+     * @param ticker the countdown's own fork of the phase ticker.
+     */
+    private void close(final String countdownId, final CountdownTicker ticker) {
+        scheduler.guard().invoke(countdownId, () -> ticker.close(countdownId));
+    }
+
+    /**
+     * A control applied to a running phase cursor on its driver thread.
+     */
+    @FunctionalInterface
+    private interface Control {
+
+        void apply(final PhaseRun run, final CountdownWheelEntry entry);
+    }
+
+    /**
+     * The action finishing a countdown that has run through its plan.
+     */
+    @FunctionalInterface
+    interface Completion {
+
+        void accept(final String countdownId, final CountdownTask task);
+    }
+
+    /**
+     * The per-tick cursor of a countdown into its plan.
      *
-     * @param countdownId the identifier of the countdown phase.
-     * @param phase the countdown phase to be executed.
-     * @throws InterruptedException if the current thread is interrupted while waiting for the countdown phase to complete.
+     * <p>A phase only wakes up on the edges of its cadence and on its final tick. Its deadline is an absolute
+     * tick of the engine timeline, so time lost to lag is caught up rather than added to the phase; an edge
+     * overtaken by a later edge of the same catch-up is coalesced into it.</p>
      */
-    private void runPhase(final String countdownId, final CountdownPhase phase) throws InterruptedException {
-        final long ticks = phase.duration().toMillis() / 50;
-        final AtomicInteger counter = new AtomicInteger((int) ticks);
-        final CountDownLatch latch = new CountDownLatch(1);
+    private abstract static class PhaseRun implements CountdownWheelTask {
+
+        final CountdownPhaseProcessor processor;
+        final CountdownPlan plan;
+        int phase;
+        private CountdownCadence cadence;
+        private long left;
+        private long edge;
+        private boolean paused;
+
+        PhaseRun(final CountdownPhaseProcessor processor, final CountdownPlan plan) {
+            this.processor = processor;
+            this.plan = plan;
+        }
 
-        scheduler.runTaskTimerAsynchronously(() -> {
-            final int left = counter.decrementAndGet();
-            phase.ticker().apply(countdownId, left / 20, left);
+        /**
+         * Moves the cursor to the given phase, skipping phases that last no ticks at all.
+         *
+         * @param index the index of the phase to enter
+         * @param ticks the ticks left in that phase
+         * @return false if the plan has no phase left to run
+         */
+        final boolean enter(final int index, final long ticks) {
+            phase = index;
+            left = ticks;
+            while (phase < plan.size()) {
+                cadence = plan.phase(phase).cadence();
+                entered(left);
+                plan();
+                if (left > 0) {
+                    reindex();
+                    return true;
+                }
 
-            if (left <= 0) {
-                latch.countDown();
+                phase++;
+                left = phase < plan.size() ? plan.ticks(phase) : 0L;
             }
 
-        }, 0L, 1L);
+            return false;
+        }
+
+        private void plan() {
+            edge = cadence.next(left);
+        }
+
+        final long delay() {
+            return left - Math.max(edge, 0L);
+        }
+
+        private boolean overtaken(final long backlog) {
+            if (backlog == 0) {
+                return false;
+            }
+
+            final long next = cadence.next(left);
+            return next >= 0 && left - next <= backlog;
+        }
+
+        @Override
+        public final void run(final CountdownWheelEntry entry) {
+            left = Math.max(edge, 0L);
+            try {
+                if (left == edge && !overtaken(entry.backlog())) {
+                    edge(left);
+                }
+            } finally {
+                advance(entry);
+            }
+        }
 
-        latch.await();
+        /**
+         * Moves the cursor past the edge just reached, even if a ticker failed on it, so a failing ticker
+         * cannot hold the countdown on the same edge forever.
+         */
+        private void advance(final CountdownWheelEntry entry) {
+            if (left > 0) {
+                plan();
+                entry.reschedule(delay());
+                return;
+            }
+
+            if (phase + 1 < plan.size() && enter(phase + 1, plan.ticks(phase + 1))) {
+                entry.reschedule(delay());
+                return;
+            }
+
+            entry.reschedule(0L);
+            finish();
+        }
+
+        final void pause(final CountdownWheelEntry entry) {
+            if (paused || !suspend(entry)) {
+                return;
+            }
+
+            paused = true;
+            reindex();
+            if (isListened(CountdownPauseEvent.getHandlerList())) {
+                publish(new CountdownPauseEvent(owner(), duration(left), async()));
+            }
+        }
+
+        final void resume(final CountdownWheelEntry entry) {
+            if (!paused || entry.isCancelled()) {
+                return;
+            }
+
+            paused = false;
+            plan();
+            entry.resume(delay());
+            shifted(left);
+            reindex();
+            if (isListened(CountdownResumeEvent.getHandlerList())) {
+                publish(new CountdownResumeEvent(owner(), duration(left), async()));
+            }
+        }
+
+        final void extend(final CountdownWheelEntry entry, final long ticks) {
+            if (entry.isCancelled() || !paused && !suspend(entry)) {
+                return;
+            }
+
+            left = Math.max(1L, left + ticks);
+            plan();
+            if (!paused) {
+                entry.resume(delay());
+            }
+
+            shifted(left);
+            reindex();
+            if (isListened(CountdownExtendEvent.getHandlerList())) {
+                publish(new CountdownExtendEvent(owner(), duration(ticks), async()));
+            }
+        }
+
+        final void skip(final CountdownWheelEntry entry) {
+            if (entry.isCancelled() || !paused && !suspend(entry)) {
+                return;
+            }
+
+            if (isListened(CountdownSkipPhaseEvent.getHandlerList())) {
+                publish(new CountdownSkipPhaseEvent(owner(), phase, async()));
+            }
+
+            if (phase + 1 < plan.size() && enter(phase + 1, plan.ticks(phase + 1))) {
+                if (!paused) {
+                    entry.resume(delay());
+                }
+
+                return;
+            }
+
+            paused = false;
+            finish();
+        }
+
+        final void seek(final CountdownWheelEntry entry, final int index, final long ticks) {
+            if (entry.isCancelled() || index >= plan.size() || !paused && !suspend(entry)) {
+                return;
+            }
+
+            if (index == phase) {
+                left = Math.max(1L, ticks);
+                plan();
+                shifted(left);
+                reindex();
+            } else {
+                enter(index, Math.max(1L, ticks));
+            }
+
+            if (!paused) {
+                entry.resume(delay());
+            }
+        }
+
+        /**
+         * Takes the timer off the wheel, bringing the ticks left in the phase up to date.
+         */
+        private boolean suspend(final CountdownWheelEntry entry) {
+            final long due = entry.suspend();
+            if (due < 0) {
+                return false;
+            }
+
+            left = Math.max(edge, 0L) + due;
+            return true;
+        }
+
+        /**
+         * Brings the index up to date with the time left in the countdown: the current phase and every later one.
+         */
+        private void reindex() {
+            final long remaining = (left + plan.ticksAfter(phase)) * CountdownTimePolicy.NANOS_PER_TICK;
+            if (paused) {
+                forEachCountdown((countdownId, task) -> processor.index.paused(countdownId, task, remaining));
+                return;
+            }
+
+            final long deadline = processor.scheduler.clock().nanoTime() + remaining;
+            forEachCountdown((countdownId, task) -> processor.index.moved(countdownId, task, deadline));
+        }
+
+        private boolean isListened(final HandlerList handlers) {
+            return processor.scheduler.isListened(handlers);
+        }
+
+        private boolean async() {
+            return processor.scheduler.asyncEvents();
+        }
+
+        private void publish(final Event event) {
+            processor.scheduler.publish(event);
+        }
+
+        private static Duration duration(final long ticks) {
+            return Duration.ofNanos(ticks * CountdownTimePolicy.NANOS_PER_TICK);
+        }
+
+        /**
+         * Returns the ID events about this cursor are published under.
+         *
+         * @return the countdown or group ID
+         */
+        abstract String owner();
+
+        /**
+         * Closes the ticker forks of the current phase run, once the countdowns leave it.
+         */
+        abstract void close();
+
+        /**
+         * Runs the given action for every countdown this cursor drives.
+         *
+         * @param action the action receiving each countdown ID and its task
+         */
+        abstract void forEachCountdown(final BiConsumer<String, CountdownTask> action);
+
+        /**
+         * Called when the end of the current phase has moved without entering another phase.
+         *
+         * @param ticks the ticks now left in the phase
+         */
+        abstract void shifted(final long ticks);
+
+        /**
+         * Called when the cursor enters a phase, before its first edge.
+         *
+         * @param ticks the ticks left in the entered phase
+         */
+        abstract void entered(final long ticks);
+
+        /**
+         * Called on every edge of the current phase.
+         *
+         * @param ticksLeft the ticks left in the phase
+         */
+        abstract void edge(final long ticksLeft);
+
+        /**
+         * Called once the last phase has completed.
+         */
+        abstract void finish();
     }
-}
 
+    /**
+     * The cursor of a single countdown.
+     */
+    private static final class SoloRun extends PhaseRun {
+
+        private final String countdownId;
+        private final CountdownTask task;
+        private CountdownTicker ticker;
+
+        private SoloRun(final CountdownPhaseProcessor processor, final String countdownId, final CountdownPlan plan,
+                final CountdownTask task) {
+            super(processor, plan);
+            this.countdownId = countdownId;
+            this.task = task;
+        }
+
+        @Override
+        String owner() {
+            return countdownId;
+        }
+
+        @Override
+        void forEachCountdown(final BiConsumer<String, CountdownTask> action) {
+            action.accept(countdownId, task);
+        }
+
+        @Override
+        void shifted(final long ticks) {
+            processor.journal.advanced(countdownId, phase, ticks);
+        }
+
+        @Override
+        void entered(final long ticks) {
+            close();
+            ticker = plan.phase(phase).ticker().fork();
+            processor.journal.advanced(countdownId, phase, ticks);
+        }
+
+        @Override
+        void edge(final long ticksLeft) {
+            processor.fire(countdownId, ticker, ticksLeft);
+        }
+
+        @Override
+        void close() {
+            final CountdownTicker closed = ticker;
+            ticker = null;
+            if (closed != null) {
+                processor.close(countdownId, closed);
+            }
+        }
+
+        @Override
+        void finish() {
+            close();
+            if (task.future().complete(null)) {
+                processor.onFinished.accept(countdownId, task);
+            }
+        }
+    }
+
+    /**
+     * The cursor shared by every member of a countdown group.
+     */
+    private static final class GroupRun extends PhaseRun {
+
+        private final CountdownGroup group;
+        private final Map<String, CountdownTicker> tickers = new HashMap<>();
+
+        private GroupRun(final CountdownPhaseProcessor processor, final CountdownGroup group, final CountdownPlan plan) {
+            super(processor, plan);
+            this.group = group;
+        }
+
+        @Override
+        String owner() {
+            return group.groupId();
+        }
+
+        @Override
+        void forEachCountdown(final BiConsumer<String, CountdownTask> action) {
+            group.forEachRunning(action);
+        }
+
+        @Override
+        void shifted(final long ticks) {
+            group.forEachRunning((member, task) -> processor.journal.advanced(member, phase, ticks));
+        }
+
+        @Override
+        void entered(final long ticks) {
+            close();
+            group.forEachRunning((member, task) -> processor.journal.advanced(member, phase, ticks));
+        }
+
+        @Override
+        void edge(final long ticksLeft) {
+            final CountdownPhase current = plan.phase(phase);
+            group.forEachRunning((member, task) ->
+                processor.fire(member, tickers.computeIfAbsent(member, id -> current.ticker().fork()), ticksLeft));
+            tickers.entrySet().removeIf(entry -> {
+                if (group.isRunning(entry.getKey())) {
+                    return false;
+                }
+
+                processor.close(entry.getKey(), entry.getValue());
+                return true;
+            });
+        }
+
+        @Override
+        void close() {
+            tickers.forEach(processor::close);
+            tickers.clear();
+        }
+
+        @Override
+        void finish() {
+            close();
+            group.task().future().complete(null);
+        }
+    }
+}
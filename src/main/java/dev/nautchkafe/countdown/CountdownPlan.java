@@ -0,0 +1,144 @@
+package dev.nautchkafe.countdown;
+
+import java.util.List;
+
+/**
+ * An immutable, precompiled description of a countdown: its phases, with their tickers and cadences,
+ * and the duration of every phase in ticks.
+ *
+ * <p>A plan is built once and referenced by every countdown running it, so the state kept per running
+ * countdown shrinks to its ID, the plan, the index of its current phase and the ticks left in it.
+ * Plans are usually interned by name through {@link CountdownTimer#plan(String, java.util.function.Supplier)},
+ * which builds the phases, and any alert schedule compiled for them, only the first time the name is seen.
+ * Stateful tickers are still forked once per running phase.</p>
+ */
+final class CountdownPlan {
+
+    private final String name;
+    private final List<CountdownPhase> phases;
+    private final long[] phaseTicks;
+    private final long[] ticksAfter;
+
+    private CountdownPlan(final String name, final List<CountdownPhase> phases, final long[] phaseTicks) {
+        this.name = name;
+        this.phases = phases;
+        this.phaseTicks = phaseTicks;
+        this.ticksAfter = new long[phaseTicks.length];
+        for (int index = phaseTicks.length - 2; index >= 0; index--) {
+            ticksAfter[index] = ticksAfter[index + 1] + phaseTicks[index + 1];
+        }
+    }
+
+    /**
+     * Compiles an unnamed plan from the given phases.
+     *
+     * @param phases the phases to run in sequence
+     * @return the compiled plan
+     */
+    static CountdownPlan of(final List<CountdownPhase> phases) {
+        return of(null, phases);
+    }
+
+    /**
+     * Compiles a plan from the given phases, rounding every phase duration up to whole ticks.
+     *
+     * @param name the name of the plan, or {@code null} for a plan that is not interned
+     * @param phases the phases to run in sequence
+     * @return the compiled plan
+     */
+    static CountdownPlan of(final String name, final List<CountdownPhase> phases) {
+        final List<CountdownPhase> copy = List.copyOf(phases);
+        final long[] phaseTicks = new long[copy.size()];
+        for (int index = 0; index < phaseTicks.length; index++) {
+            phaseTicks[index] = copy.get(index).ticks();
+        }
+
+        return new CountdownPlan(name, copy, phaseTicks);
+    }
+
+    /**
+     * Returns the name this plan was compiled under.
+     *
+     * @return the plan name, or {@code null} if the plan is not interned
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the phases of this plan.
+     *
+     * @return an immutable list of the phases
+     */
+    List<CountdownPhase> phases() {
+        return phases;
+    }
+
+    /**
+     * Returns the number of phases of this plan.
+     *
+     * @return the phase count
+     */
+    int size() {
+        return phases.size();
+    }
+
+    /**
+     * Returns the phase at the given index.
+     *
+     * @param index the phase index
+     * @return the phase
+     */
+    CountdownPhase phase(final int index) {
+        return phases.get(index);
+    }
+
+    /**
+     * Returns the duration of the phase at the given index.
+     *
+     * @param index the phase index
+     * @return the duration in ticks
+     */
+    long ticks(final int index) {
+        return phaseTicks[index];
+    }
+
+    /**
+     * Returns the total duration of the phases following the one at the given index.
+     *
+     * @param index the phase index
+     * @return the duration in ticks of every later phase
+     */
+    long ticksAfter(final int index) {
+        return ticksAfter[index];
+    }
+
+    /**
+     * Returns the durations of all phases. The array is shared by every countdown running this plan
+     * and must not be modified.
+     *
+     * @return the duration of every phase in ticks
+     */
+    long[] phaseTicks() {
+        return phaseTicks;
+    }
+
+    /**
+     * Returns a plan with the same phases and the given durations, typically the ones recovered from
+     * the journal. The duration of the phase being resumed is not compared, since the ticks left in it
+     * are passed separately; when every other duration matches, this plan itself is returned and stays shared.
+     *
+     * @param ticks the duration of every phase in ticks
+     * @param resumed the index of the phase being resumed
+     * @return a plan running with the given durations
+     */
+    CountdownPlan withTicks(final long[] ticks, final int resumed) {
+        for (int index = 0; index < ticks.length; index++) {
+            if (index != resumed && ticks[index] != phaseTicks[index]) {
+                return new CountdownPlan(name, phases, ticks.clone());
+            }
+        }
+
+        return this;
+    }
+}
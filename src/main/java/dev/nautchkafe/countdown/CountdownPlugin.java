@@ -0,0 +1,86 @@
+package dev.nautchkafe.countdown;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import javax.management.ObjectName;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * The plugin entry point owning the shared {@link CountdownTimer}.
+ * Every countdown still running when the plugin is disabled is cancelled and its timers are released.
+ * Countdowns are journaled into the plugin's data folder. Recovery is started by the plugin itself: enabling
+ * it schedules {@link CountdownTimer#recover} for the first server tick, once every plugin has been enabled,
+ * and resumes the countdowns of the previous run bound by the recoveries registered through
+ * {@link #addRecovery} until then. Countdowns no recovery binds are dropped. Until recovery has run the
+ * journal writes nothing and buffers nothing.
+ * The engine metrics are exposed over JMX; recording is switched on through their {@code Enabled} attribute.
+ */
+public final class CountdownPlugin extends JavaPlugin {
+
+    private final List<CountdownRecovery> recoveries = new CopyOnWriteArrayList<>();
+    private CountdownTimer timer;
+    private ObjectName metricsName;
+
+    @Override
+    public void onEnable() {
+        final CountdownJournal journal = new CountdownFileJournal(getDataFolder().toPath().resolve("journal"), getLogger());
+        this.timer = new CountdownTimer(new CountdownScheduler(getServer(), this), journal);
+        this.metricsName = timer.metrics().registerMBean(getName());
+        getServer().getScheduler().runTask(this, this::recover);
+    }
+
+    @Override
+    public void onDisable() {
+        if (metricsName != null) {
+            CountdownMetrics.unregisterMBean(metricsName);
+            metricsName = null;
+        }
+
+        if (timer != null) {
+            timer.shutdown();
+            timer = null;
+        }
+    }
+
+    CountdownTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * Registers a recovery consulted for the countdowns of the previous run. Recoveries are asked in
+     * registration order and the first binding returned wins; a recovery registered after the first
+     * server tick is never consulted.
+     *
+     * @param recovery the resolver of the phases and callbacks of recovered countdowns
+     */
+    void addRecovery(final CountdownRecovery recovery) {
+        recoveries.add(recovery);
+    }
+
+    private void recover() {
+        if (timer == null) {
+            return;
+        }
+
+        timer.recover(this::bind).whenComplete((resumed, failure) -> {
+            if (failure != null) {
+                getLogger().log(Level.SEVERE, "Could not recover countdowns from the journal", failure);
+            } else {
+                getLogger().info("Resumed " + resumed + " countdowns from the journal");
+            }
+        });
+    }
+
+    private CountdownBinding bind(final String countdownId) {
+        for (final CountdownRecovery recovery : recoveries) {
+            final CountdownBinding binding = recovery.bind(countdownId);
+            if (binding != null) {
+                return binding;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * A record representing the persisted state of one countdown: its phase plan, the phase
+ * currently armed and the wall-clock deadline at which that phase completes.
+ */
+record CountdownRecord(
+    String countdownId,
+    long[] phaseTicks,
+    int phase,
+    long deadline
+) {
+
+    /**
+     * Returns this record with another phase armed.
+     *
+     * @param phase the index of the armed phase
+     * @param deadline the wall-clock time the phase completes at, in epoch milliseconds
+     * @return the updated record
+     */
+    CountdownRecord advance(final int phase, final long deadline) {
+        return new CountdownRecord(countdownId, phaseTicks, phase, deadline);
+    }
+
+    /**
+     * Rebases this record onto the given time. Phases whose deadline has already passed are skipped,
+     * carrying the overdue time into the following phases, and the duration of the phase to resume
+     * becomes the ticks left until its deadline. A record whose first phase was never armed resumes
+     * that phase from its full duration.
+     *
+     * @param now the current wall-clock time, in epoch milliseconds
+     * @return the record to resume from, with the plan trimmed for the resumed phase
+     */
+    CountdownRecord rebase(final long now) {
+        if (phaseTicks.length == 0) {
+            return this;
+        }
+
+        int resumed = Math.max(phase, 0);
+        long left = phase < 0 ? phaseTicks[0] : Math.floorDiv(deadline - now + 49, 50);
+        while (left < 0 && resumed + 1 < phaseTicks.length) {
+            resumed++;
+            left += phaseTicks[resumed];
+        }
+
+        final long[] plan = phaseTicks.clone();
+        plan[resumed] = Math.max(left, 0L);
+        return new CountdownRecord(countdownId, plan, resumed, now + plan[resumed] * 50);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * A functional interface resolving the behaviour of a countdown recovered from the journal.
+ */
+@FunctionalInterface
+interface CountdownRecovery {
+
+    /**
+     * Binds a recovered countdown to its phases and callbacks.
+     *
+     * @param countdownId the identifier of the recovered countdown
+     * @return the binding of the countdown, or {@code null} to drop it
+     */
+    CountdownBinding bind(final String countdownId);
+}
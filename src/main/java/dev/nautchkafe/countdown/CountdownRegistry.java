@@ -0,0 +1,151 @@
+package dev.nautchkafe.countdown;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@code CountdownRegistry} holds every running countdown task, partitioned into shards by countdown ID.
+ *
+ * <p>Each shard is an independent map, and the same partitioning is used by {@link CountdownScheduler}
+ * to pick the tick driver of a countdown, so a countdown's registration and its timers always live
+ * in the same shard. Operations on different shards never contend with each other.</p>
+ *
+ * <p>Countdowns started under a primitive key are additionally indexed in a {@link CountdownKeyStore},
+ * so they can be looked up by that key without building their string ID. Every countdown is also kept in a
+ * {@link CountdownIndex} by deadline and by the tags it was started with.</p>
+ */
+final class CountdownRegistry {
+
+    private final Map<String, CountdownTask>[] shards;
+    private final CountdownKeyStore uuidKeys = new CountdownKeyStore();
+    private final CountdownKeyStore entityKeys = new CountdownKeyStore();
+    private final CountdownIndex index = new CountdownIndex();
+
+    /**
+     * Constructs an empty registry with the given number of shards.
+     *
+     * @param shardCount the number of shards, at least one
+     */
+    @SuppressWarnings("unchecked")
+    CountdownRegistry(final int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+
+        this.shards = (Map<String, CountdownTask>[]) new Map<?, ?>[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards[shard] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the shard owning the given countdown ID.
+     *
+     * @param countdownId the countdown ID, or {@code null} for engine work
+     * @param shardCount  the number of shards
+     * @return the shard index
+     */
+    static int shardOf(final String countdownId, final int shardCount) {
+        if (countdownId == null) {
+            return 0;
+        }
+
+        final int hash = countdownId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the index of countdowns started under a {@link java.util.UUID} key.
+     *
+     * @return the UUID key index
+     */
+    CountdownKeyStore uuidKeys() {
+        return uuidKeys;
+    }
+
+    /**
+     * Returns the index of countdowns started under a {@code long} entity key.
+     *
+     * @return the entity key index
+     */
+    CountdownKeyStore entityKeys() {
+        return entityKeys;
+    }
+
+    /**
+     * Returns the deadline and tag indexes of the running countdowns.
+     *
+     * @return the countdown index
+     */
+    CountdownIndex index() {
+        return index;
+    }
+
+    boolean contains(final String countdownId) {
+        return shard(countdownId).containsKey(countdownId);
+    }
+
+    CountdownTask get(final String countdownId) {
+        return shard(countdownId).get(countdownId);
+    }
+
+    void put(final String countdownId, final CountdownTask task) {
+        shard(countdownId).put(countdownId, task);
+    }
+
+    CountdownTask putIfAbsent(final String countdownId, final CountdownTask task) {
+        return shard(countdownId).putIfAbsent(countdownId, task);
+    }
+
+    CountdownTask remove(final String countdownId) {
+        return shard(countdownId).remove(countdownId);
+    }
+
+    boolean remove(final String countdownId, final CountdownTask task) {
+        return shard(countdownId).remove(countdownId, task);
+    }
+
+    /**
+     * Returns the number of countdowns registered across all shards.
+     *
+     * @return the total registered count
+     */
+    int size() {
+        int size = 0;
+        for (final Map<String, CountdownTask> shard : shards) {
+            size += shard.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns the number of countdowns registered in a single shard.
+     *
+     * @param shard the shard index
+     * @return the registered count of that shard
+     */
+    int size(final int shard) {
+        return shards[shard].size();
+    }
+
+    /**
+     * Visits every registered countdown, shard by shard.
+     *
+     * @param visitor the visitor receiving each countdown ID and task
+     */
+    void forEach(final BiConsumer<String, CountdownTask> visitor) {
+        for (final Map<String, CountdownTask> shard : shards) {
+            shard.forEach(visitor);
+        }
+    }
+
+    private Map<String, CountdownTask> shard(final String countdownId) {
+        return shards[shardOf(countdownId, shards.length)];
+    }
+}
@@ -0,0 +1,101 @@
+package dev.nautchkafe.countdown;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A MiniMessage template rendering the time left in a countdown into a {@link Component}.
+ *
+ * <p>Templates may use three placeholders: {@code <seconds>} for the seconds left, {@code <time>} for the
+ * same value as {@code m:ss}, and {@code <countdown>} for the countdown ID. A template is parsed once per
+ * distinct value rather than once per tick and viewer. A template that does not mention {@code <countdown>}
+ * renders the same component for every countdown, so it is cached by seconds left and shared by every
+ * countdown and viewer using the renderer; for templates that do, {@link CountdownDisplay} keeps the last
+ * component of each countdown.</p>
+ */
+final class CountdownRenderer {
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final int CACHE_LIMIT = 4096;
+
+    private final String template;
+    private final boolean perCountdown;
+    private final Map<Long, Component> cache = new ConcurrentHashMap<>();
+    private final AtomicLong parses = new AtomicLong();
+
+    private CountdownRenderer(final String template) {
+        this.template = template;
+        this.perCountdown = template.contains("<countdown>");
+    }
+
+    /**
+     * Compiles a MiniMessage template.
+     *
+     * @param template the MiniMessage template
+     * @return the renderer of the template
+     */
+    static CountdownRenderer compile(final String template) {
+        return new CountdownRenderer(template);
+    }
+
+    /**
+     * Returns the component showing the given time left.
+     *
+     * @param countdownId the identifier of the countdown
+     * @param secondsLeft the seconds left
+     * @return the rendered component
+     */
+    Component render(final String countdownId, final long secondsLeft) {
+        if (perCountdown) {
+            return parse(countdownId, secondsLeft);
+        }
+
+        final Component cached = cache.get(secondsLeft);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Component rendered = parse(countdownId, secondsLeft);
+        if (cache.size() < CACHE_LIMIT) {
+            cache.putIfAbsent(secondsLeft, rendered);
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Returns whether the rendered components depend on the countdown ID.
+     *
+     * @return true if the template uses the {@code <countdown>} placeholder
+     */
+    boolean isPerCountdown() {
+        return perCountdown;
+    }
+
+    /**
+     * Returns the number of times the template has been parsed since it was compiled.
+     *
+     * @return the parse count
+     */
+    long parses() {
+        return parses.get();
+    }
+
+    private Component parse(final String countdownId, final long secondsLeft) {
+        parses.incrementAndGet();
+        return MINI_MESSAGE.deserialize(template, resolver(countdownId, secondsLeft));
+    }
+
+    private TagResolver resolver(final String countdownId, final long secondsLeft) {
+        return TagResolver.resolver(
+            Placeholder.unparsed("seconds", Long.toString(secondsLeft)),
+            Placeholder.unparsed("time", secondsLeft / 60 + ":" + (secondsLeft % 60 < 10 ? "0" : "") + secondsLeft % 60),
+            Placeholder.unparsed("countdown", countdownId));
+    }
+}
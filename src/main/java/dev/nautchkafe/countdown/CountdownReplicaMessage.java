@@ -0,0 +1,152 @@
+package dev.nautchkafe.countdown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A record carrying one change of a replicated countdown between servers.
+ *
+ * <p>The message names the countdown's plan rather than shipping its phases, since tickers and cadences
+ * cannot leave the JVM; every node interns the plans it replicates under the same names. Time is carried
+ * as the wall-clock deadline of the current phase, which each node converts into its own ticks, so nodes
+ * agree on when a countdown ends without exchanging anything while it runs.</p>
+ *
+ * <p>Changes are ordered by their version, a logical clock every node advances past each version it sees, and
+ * then by origin, so any two changes of a countdown compare the same way on every node. A node applies a change
+ * only if it {@link #supersedes(CountdownReplicaMessage) supersedes} the last one it applied.</p>
+ *
+ * @param origin      the identifier of the node that made the change
+ * @param version     the logical time of the change on its origin node
+ * @param kind        the kind of change
+ * @param countdownId the identifier of the countdown
+ * @param plan        the name of the countdown's interned plan
+ * @param phase       the index of the current phase
+ * @param deadline    the time the current phase ends at, in epoch milliseconds, while the countdown runs
+ * @param remaining   the milliseconds left in the current phase while the countdown is paused, otherwise {@code -1}
+ * @param amount      the milliseconds added to the phase by an {@link Kind#EXTENDED} change, otherwise {@code 0}
+ */
+record CountdownReplicaMessage(
+    String origin,
+    long version,
+    Kind kind,
+    String countdownId,
+    String plan,
+    int phase,
+    long deadline,
+    long remaining,
+    long amount
+) {
+
+    /**
+     * Returns whether the countdown is paused.
+     *
+     * @return true if the countdown is paused
+     */
+    boolean paused() {
+        return remaining >= 0;
+    }
+
+    /**
+     * Returns whether this change is ordered after the given one, by version and then by origin.
+     *
+     * @param other the change last applied to the countdown
+     * @return true if this change wins over the given one
+     */
+    boolean supersedes(final CountdownReplicaMessage other) {
+        return version != other.version ? version > other.version : origin.compareTo(other.origin) > 0;
+    }
+
+    /**
+     * Returns this message under another kind, keeping the countdown state, its origin and its version.
+     *
+     * @param kind the kind of the message
+     * @return the re-announced message
+     */
+    CountdownReplicaMessage announced(final Kind kind) {
+        return new CountdownReplicaMessage(origin, version, kind, countdownId, plan, phase, deadline, remaining, 0L);
+    }
+
+    /**
+     * Encodes this message into a compact binary form.
+     *
+     * @return the encoded message
+     */
+    byte[] encode() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(origin);
+            output.writeLong(version);
+            output.writeByte(kind.ordinal());
+            output.writeUTF(countdownId == null ? "" : countdownId);
+            output.writeUTF(plan == null ? "" : plan);
+            output.writeInt(phase);
+            output.writeLong(deadline);
+            output.writeLong(remaining);
+            output.writeLong(amount);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a message encoded with {@link #encode()}.
+     *
+     * @param bytes the encoded message
+     * @return the decoded message
+     */
+    static CountdownReplicaMessage decode(final byte[] bytes) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return new CountdownReplicaMessage(input.readUTF(), input.readLong(), Kind.values()[input.readByte()],
+                input.readUTF(), input.readUTF(), input.readInt(), input.readLong(), input.readLong(), input.readLong());
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * The kinds of change replicated between nodes.
+     */
+    enum Kind {
+
+        /**
+         * A countdown was started, or its full state is being announced to a node that asked for it.
+         */
+        STARTED,
+
+        /**
+         * A countdown was paused.
+         */
+        PAUSED,
+
+        /**
+         * A paused countdown was resumed.
+         */
+        RESUMED,
+
+        /**
+         * The current phase of a countdown was extended or shortened.
+         */
+        EXTENDED,
+
+        /**
+         * The current phase of a countdown was skipped.
+         */
+        SKIPPED,
+
+        /**
+         * A countdown was cancelled.
+         */
+        CANCELLED,
+
+        /**
+         * A node joined and asks the others to announce the countdowns they replicate.
+         */
+        SYNC
+    }
+}
@@ -0,0 +1,388 @@
+package dev.nautchkafe.countdown;
+
+import dev.nautchkafe.countdown.CountdownReplicaMessage.Kind;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Keeps countdowns in step across the servers of a network.
+ *
+ * <p>Every node runs its own {@link CountdownTimer} and its own replicator, connected through a
+ * {@link CountdownTransport}. Starting, pausing, resuming, extending, skipping or cancelling a countdown
+ * through any replicator publishes one {@link CountdownReplicaMessage} carrying the countdown's plan name
+ * and the wall-clock deadline of its current phase. Each node, the sender included, turns that deadline
+ * into ticks of its own clock and runs the countdown locally from there, so the traffic grows with the
+ * number of lifecycle changes and not with the number of ticks, and no node drifts from the shared deadline
+ * by more than the skew between the nodes' wall clocks.</p>
+ *
+ * <p>Only countdowns running a plan interned with {@link CountdownTimer#plan(String, java.util.function.Supplier)}
+ * can be replicated, and every node must intern that plan under the same name. A node that joins late asks the
+ * others for the countdowns they replicate and starts them from their current deadlines. Countdowns controlled
+ * directly through the timer instead of the replicator are not replicated.</p>
+ *
+ * <p>Changes made on several nodes at once are settled the same way everywhere: every change carries a
+ * {@link CountdownReplicaMessage#version() version} from a logical clock that each node advances past every
+ * version it receives, and a node drops any change that does not supersede the last one it applied to the
+ * countdown, ties going to the greater origin. Two nodes starting or extending the same countdown at the same
+ * time therefore both end up on the winning change. An ended countdown keeps its last version for a minute,
+ * so a late change made before it ended cannot restart it.</p>
+ */
+final class CountdownReplicator {
+
+    private static final long MILLIS_PER_TICK = 50L;
+    private static final long ENDED_MILLIS = 60_000L;
+
+    private final String nodeId;
+    private final CountdownTimer timer;
+    private final CountdownTransport transport;
+    private final Clock clock;
+    private final CountdownCompletion onComplete;
+    private final CountdownCancel onCancel;
+    private final Logger logger;
+    private final Map<String, CountdownReplicaMessage> replicas = new ConcurrentHashMap<>();
+    private final Map<String, Ended> ended = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile long nextPurge;
+
+    /**
+     * Constructs a replicator for one node and asks the other nodes for the countdowns they replicate.
+     *
+     * @param nodeId the identifier of this node, unique in the network
+     * @param timer the timer running this node's countdowns
+     * @param transport the channel to the other nodes
+     * @param clock the wall clock phase deadlines are exchanged against
+     * @param onComplete the action performed when a replicated countdown completes on this node
+     * @param onCancel the action performed when a replicated countdown is cancelled on this node
+     * @param logger the logger used to report countdowns that cannot be replicated
+     */
+    CountdownReplicator(final String nodeId, final CountdownTimer timer, final CountdownTransport transport,
+            final Clock clock, final CountdownCompletion onComplete, final CountdownCancel onCancel,
+            final Logger logger) {
+        this.nodeId = nodeId;
+        this.timer = timer;
+        this.transport = transport;
+        this.clock = clock;
+        this.onComplete = onComplete;
+        this.onCancel = onCancel;
+        this.logger = logger;
+
+        transport.subscribe(this::receive);
+        transport.publish(new CountdownReplicaMessage(nodeId, 0L, Kind.SYNC, "", "", 0, 0L, -1L, 0L));
+    }
+
+    /**
+     * Starts a countdown on every node of the network.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param plan the interned plan of phases to execute
+     * @return true if the countdown was started, false if a countdown with that ID is already running
+     * @throws IllegalArgumentException if the plan was not interned under a name
+     */
+    public boolean start(final String countdownId, final CountdownPlan plan) {
+        if (plan.name() == null || timer.internedPlan(plan.name()) != plan) {
+            throw new IllegalArgumentException("Only interned plans can be replicated: " + countdownId);
+        }
+
+        if (replicas.containsKey(countdownId) || timer.hasCountdown(countdownId)) {
+            return false;
+        }
+
+        final long ticks = plan.size() > 0 ? plan.ticks(0) : 0L;
+        return send(new CountdownReplicaMessage(nodeId, versions.incrementAndGet(), Kind.STARTED, countdownId,
+            plan.name(), 0,
+            clock.millis() + ticks * MILLIS_PER_TICK, -1L, 0L));
+    }
+
+    /**
+     * Pauses a replicated countdown on every node.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the countdown was running and not paused yet
+     */
+    public boolean pause(final String countdownId) {
+        return change(countdownId, (state, plan, now) -> state.paused() ? null
+            : state(Kind.PAUSED, state, state.phase(), state.deadline(), state.deadline() - now, 0L));
+    }
+
+    /**
+     * Resumes a paused replicated countdown on every node.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the countdown was paused
+     */
+    public boolean resume(final String countdownId) {
+        return change(countdownId, (state, plan, now) -> !state.paused() ? null
+            : state(Kind.RESUMED, state, state.phase(), now + state.remaining(), -1L, 0L));
+    }
+
+    /**
+     * Moves the end of the current phase of a replicated countdown on every node.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param amount the time to add to the current phase, or to remove if negative
+     * @return true if the countdown was running
+     */
+    public boolean extend(final String countdownId, final Duration amount) {
+        final long millis = amount.toMillis();
+        return change(countdownId, (state, plan, now) -> state.paused()
+            ? state(Kind.EXTENDED, state, state.phase(), state.deadline(),
+                Math.max(MILLIS_PER_TICK, state.remaining() + millis), millis)
+            : state(Kind.EXTENDED, state, state.phase(),
+                Math.max(now + MILLIS_PER_TICK, state.deadline() + millis), -1L, millis));
+    }
+
+    /**
+     * Ends the current phase of a replicated countdown on every node.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the countdown was running
+     */
+    public boolean skipPhase(final String countdownId) {
+        return change(countdownId, (state, plan, now) -> {
+            final int next = state.phase() + 1;
+            final long millis = next < plan.size() ? plan.ticks(next) * MILLIS_PER_TICK : 0L;
+            return state.paused()
+                ? state(Kind.SKIPPED, state, next, state.deadline(), millis, 0L)
+                : state(Kind.SKIPPED, state, next, now + millis, -1L, 0L);
+        });
+    }
+
+    /**
+     * Cancels a replicated countdown on every node.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @return true if the countdown was replicated by this node
+     */
+    public boolean cancel(final String countdownId) {
+        final CountdownReplicaMessage state = replicas.get(countdownId);
+        return state != null && send(state(Kind.CANCELLED, state, state.phase(), state.deadline(), -1L, 0L));
+    }
+
+    /**
+     * Returns the number of countdowns this node currently replicates.
+     *
+     * @return the replicated countdown count
+     */
+    int size() {
+        return replicas.size();
+    }
+
+    /**
+     * Disconnects this node from the network. Countdowns already running keep running locally.
+     */
+    void close() {
+        transport.close();
+        replicas.clear();
+        ended.clear();
+    }
+
+    private boolean change(final String countdownId, final Change change) {
+        final CountdownReplicaMessage current = replicas.get(countdownId);
+        final CountdownPlan plan = current == null ? null : timer.internedPlan(current.plan());
+        if (plan == null) {
+            return false;
+        }
+
+        final long now = clock.millis();
+        final CountdownReplicaMessage state = rebase(current, plan, now);
+        final CountdownReplicaMessage message = state == null ? null : change.apply(state, plan, now);
+        return message != null && send(message);
+    }
+
+    private boolean send(final CountdownReplicaMessage message) {
+        synchronized (this) {
+            apply(message);
+        }
+
+        transport.publish(message);
+        return true;
+    }
+
+    private void receive(final CountdownReplicaMessage message) {
+        if (message.origin().equals(nodeId)) {
+            return;
+        }
+
+        versions.accumulateAndGet(message.version(), Math::max);
+        if (message.kind() == Kind.SYNC) {
+            replicas.forEach((countdownId, state) -> transport.publish(state.announced(Kind.STARTED)));
+            return;
+        }
+
+        synchronized (this) {
+            if (supersedes(message)) {
+                apply(message);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a received change is ordered after the last change applied to its countdown,
+     * including the last change of a countdown that ended recently.
+     */
+    private boolean supersedes(final CountdownReplicaMessage message) {
+        final CountdownReplicaMessage current = replicas.get(message.countdownId());
+        if (current != null) {
+            return message.supersedes(current);
+        }
+
+        final Ended last = ended.get(message.countdownId());
+        return last == null || message.supersedes(last.message());
+    }
+
+    /**
+     * Applies a change to the local countdown, starting it if this node does not run it yet. The control
+     * matching the change is applied first so it publishes its usual event, then the countdown is moved
+     * to the exact position derived from the message's deadline.
+     */
+    private void apply(final CountdownReplicaMessage message) {
+        final String countdownId = message.countdownId();
+        if (message.kind() == Kind.CANCELLED) {
+            end(message);
+            timer.cancel(countdownId);
+            return;
+        }
+
+        final CountdownPlan plan = timer.internedPlan(message.plan());
+        if (plan == null) {
+            logger.warning(() -> "Cannot replicate countdown " + countdownId + ", plan " + message.plan()
+                + " is not interned on node " + nodeId);
+            return;
+        }
+
+        if (message.kind() == Kind.SKIPPED && message.phase() >= plan.size()) {
+            end(message);
+            timer.skipPhase(countdownId);
+            return;
+        }
+
+        final long now = clock.millis();
+        final CountdownReplicaMessage state = rebase(message, plan, now);
+        if (state == null) {
+            end(message);
+            return;
+        }
+
+        replicas.put(countdownId, state);
+        ended.remove(countdownId);
+        final long ticks = state.paused()
+            ? Math.max(1L, Math.floorDiv(state.remaining() + MILLIS_PER_TICK - 1, MILLIS_PER_TICK))
+            : Math.floorDiv(state.deadline() - now + MILLIS_PER_TICK - 1, MILLIS_PER_TICK);
+
+        if (!timer.hasCountdown(countdownId)) {
+            timer.resumePhasedCountdown(countdownId, plan, state.phase(), ticks, this::completed, this::cancelled);
+            if (state.paused()) {
+                timer.pause(countdownId);
+            }
+
+            return;
+        }
+
+        if (message.kind() == Kind.EXTENDED) {
+            timer.extend(countdownId, Duration.ofMillis(message.amount()));
+        } else if (message.kind() == Kind.SKIPPED) {
+            timer.skipPhase(countdownId);
+        }
+
+        timer.seek(countdownId, state.phase(), ticks);
+        if (state.paused()) {
+            timer.pause(countdownId);
+        } else {
+            timer.resume(countdownId);
+        }
+    }
+
+    /**
+     * Moves a running state past the phases whose deadline has already passed, carrying the overdue
+     * time into the following phases.
+     *
+     * @return the state of the phase running at the given time, or {@code null} if the countdown has ended
+     */
+    private static CountdownReplicaMessage rebase(final CountdownReplicaMessage state, final CountdownPlan plan,
+            final long now) {
+        if (state.paused()) {
+            return state.phase() < plan.size() ? state : null;
+        }
+
+        int phase = state.phase();
+        long deadline = state.deadline();
+        while (deadline <= now && phase + 1 < plan.size()) {
+            phase++;
+            deadline += plan.ticks(phase) * MILLIS_PER_TICK;
+        }
+
+        if (deadline <= now || phase >= plan.size()) {
+            return null;
+        }
+
+        return new CountdownReplicaMessage(state.origin(), state.version(), state.kind(), state.countdownId(),
+            state.plan(), phase, deadline, -1L, state.amount());
+    }
+
+    private CountdownReplicaMessage state(final Kind kind, final CountdownReplicaMessage state, final int phase,
+            final long deadline, final long remaining, final long amount) {
+        return new CountdownReplicaMessage(nodeId, versions.incrementAndGet(), kind, state.countdownId(), state.plan(),
+            phase, deadline, remaining, amount);
+    }
+
+    private void completed(final String countdownId, final Instant endTime) {
+        ended(countdownId);
+        onComplete.accept(countdownId, endTime);
+    }
+
+    private void cancelled(final String countdownId) {
+        ended(countdownId);
+        onCancel.accept(countdownId);
+    }
+
+    /**
+     * Stops replicating a countdown ended by the given change, remembering the change for a while.
+     */
+    private void end(final CountdownReplicaMessage message) {
+        replicas.remove(message.countdownId());
+        remember(message);
+    }
+
+    /**
+     * Stops replicating a countdown that ended locally, remembering its last change for a while.
+     */
+    private void ended(final String countdownId) {
+        final CountdownReplicaMessage last = replicas.remove(countdownId);
+        if (last != null) {
+            remember(last);
+        }
+    }
+
+    private void remember(final CountdownReplicaMessage message) {
+        final long now = clock.millis();
+        ended.put(message.countdownId(), new Ended(message, now + ENDED_MILLIS));
+        if (now >= nextPurge) {
+            nextPurge = now + 1_000L;
+            ended.values().removeIf(last -> last.expiresAt() <= now);
+        }
+    }
+
+    /**
+     * The last change of an ended countdown and the time it is forgotten at, in epoch milliseconds.
+     */
+    private record Ended(
+        CountdownReplicaMessage message,
+        long expiresAt
+    ) {
+    }
+
+    /**
+     * A change computed from the current state of a replicated countdown.
+     */
+    @FunctionalInterface
+    private interface Change {
+
+        CountdownReplicaMessage apply(final CountdownReplicaMessage state, final CountdownPlan plan, final long now);
+    }
+}
@@ -1,52 +1,375 @@
 package dev.nautchkafe.countdown;
 
 import org.bukkit.Server;
-import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
 
 /**
- * The {@code CountdownScheduler} class is responsible for scheduling tasks 
+ * The {@code CountdownScheduler} class is responsible for scheduling tasks
  * to be run on the server asynchronously or periodically with an initial delay.
- * This class utilizes the Bukkit scheduling system to manage tasks.
+ *
+ * <p>Periodic countdown work is not registered as individual Bukkit tasks. Instead the engine is split
+ * into shards, each with its own {@link CountdownTickDriver} driven by the {@link CountdownClock},
+ * and every timer requested through this class becomes an entry of the wheel of its owner's shard.
+ * On a live server each shard ticks on its own asynchronous Bukkit timer, so countdown work spreads
+ * across cores; with a {@link VirtualCountdownClock} the same engine runs headless and deterministic.
+ * Lifecycle events published through this class are batched by a {@link CountdownEventPipeline},
+ * and display updates by a {@link CountdownDisplayOutbox}; both are delivered after each tick.</p>
  */
 final class CountdownScheduler {
 
-    private final CountdownPlugin plugin;
-    private final Server server;
-    private final BukkitScheduler scheduler;
+    private final CountdownClock clock;
+    private final CountdownMetrics metrics = new CountdownMetrics();
+    private final CountdownEventPipeline events;
+    private final CountdownDisplayOutbox displays;
+    private final CountdownCallbackGuard guard;
+    private final Logger logger;
+    private final CountdownTickDriver[] drivers;
+
+    /**
+     * Constructs a {@code CountdownScheduler} for the plugin providing this class.
+     *
+     * @param server the server instance that provides the scheduler
+     */
+    CountdownScheduler(final Server server) {
+        this(server, JavaPlugin.getProvidingPlugin(CountdownScheduler.class));
+    }
+
+    /**
+     * Constructs a {@code CountdownScheduler} with the specified server
+     * and plugin. Initializes the scheduler using the server and starts one tick driver per available processor.
+     *
+     * @param server the server instance that provides the scheduler
+     * @param plugin the plugin instance associated with this scheduler
+     */
+    CountdownScheduler(final Server server, final Plugin plugin) {
+        this(server, plugin, Runtime.getRuntime().availableProcessors(), false, CountdownTimePolicy.WALL_CLOCK);
+    }
+
+    /**
+     * Constructs a {@code CountdownScheduler} with the specified server, plugin and shard count,
+     * optionally aggregating each delivered event batch into a single batch event.
+     *
+     * @param server the server instance that provides the scheduler
+     * @param plugin the plugin instance associated with this scheduler
+     * @param shards the number of independently ticking shards, at least one
+     * @param aggregateEvents whether a batch event is triggered after each batch of lifecycle events
+     * @param policy the policy relating engine ticks to real time
+     */
+    CountdownScheduler(final Server server, final Plugin plugin, final int shards, final boolean aggregateEvents,
+            final CountdownTimePolicy policy) {
+        this(server, plugin, shards, aggregateEvents, false, policy);
+    }
 
     /**
-     * Constructs a {@code CountdownScheduler} with the specified server 
-     * and plugin. Initializes the scheduler using the server.
+     * Constructs a {@code CountdownScheduler} with the specified server, plugin and shard count, optionally
+     * delivering lifecycle events asynchronously on the tick threads instead of on the main thread.
+     * Only event types with registered listeners are built and triggered.
      *
      * @param server the server instance that provides the scheduler
      * @param plugin the plugin instance associated with this scheduler
+     * @param shards the number of independently ticking shards, at least one
+     * @param aggregateEvents whether a batch event is triggered after each batch of lifecycle events
+     * @param asyncEvents whether lifecycle events are asynchronous events delivered off the main thread
+     * @param policy the policy relating engine ticks to real time
+     */
+    CountdownScheduler(final Server server, final Plugin plugin, final int shards, final boolean aggregateEvents,
+            final boolean asyncEvents, final CountdownTimePolicy policy) {
+        this(new BukkitCountdownClock(server, plugin), CountdownEventSink.server(server, asyncEvents),
+            plugin.getLogger(), shards, aggregateEvents, policy, new CountdownCallbackGuard(plugin.getLogger()));
+    }
+
+    /**
+     * Constructs a {@code CountdownScheduler} running on the given clock with wall-clock time accounting.
+     *
+     * @param clock the clock delivering ticks and providing the main thread
+     * @param eventSink the consumer triggering delivered lifecycle events
+     * @param logger the logger used to report failing countdown tasks
+     * @param shards the number of independently ticking shards, at least one
+     * @param aggregateEvents whether a batch event is triggered after each batch of lifecycle events
+     */
+    CountdownScheduler(final CountdownClock clock, final Consumer<Event> eventSink, final Logger logger,
+            final int shards, final boolean aggregateEvents) {
+        this(clock, eventSink, logger, shards, aggregateEvents, CountdownTimePolicy.WALL_CLOCK);
+    }
+
+    /**
+     * Constructs a {@code CountdownScheduler} running on the given clock.
+     *
+     * @param clock the clock delivering ticks and providing the main thread
+     * @param eventSink the consumer triggering delivered lifecycle events
+     * @param logger the logger used to report failing countdown tasks
+     * @param shards the number of independently ticking shards, at least one
+     * @param aggregateEvents whether a batch event is triggered after each batch of lifecycle events
+     * @param policy the policy relating engine ticks to real time
+     */
+    CountdownScheduler(final CountdownClock clock, final Consumer<Event> eventSink, final Logger logger,
+            final int shards, final boolean aggregateEvents, final CountdownTimePolicy policy) {
+        this(clock, eventSink, logger, shards, aggregateEvents, policy, new CountdownCallbackGuard(logger));
+    }
+
+    /**
+     * Constructs a {@code CountdownScheduler} running on the given clock with a custom callback guard.
+     *
+     * @param clock the clock delivering ticks and providing the main thread
+     * @param eventSink the consumer triggering delivered lifecycle events
+     * @param logger the logger used to report failing countdown tasks
+     * @param shards the number of independently ticking shards, at least one
+     * @param aggregateEvents whether a batch event is triggered after each batch of lifecycle events
+     * @param policy the policy relating engine ticks to real time
+     * @param guard the guard invoking tickers and completion callbacks
+     */
+    CountdownScheduler(final CountdownClock clock, final Consumer<Event> eventSink, final Logger logger,
+            final int shards, final boolean aggregateEvents, final CountdownTimePolicy policy,
+            final CountdownCallbackGuard guard) {
+        this(clock, CountdownEventSink.of(eventSink), logger, shards, aggregateEvents, policy, guard);
+    }
+
+    /**
+     * Constructs a {@code CountdownScheduler} running on the given clock and delivering lifecycle events
+     * to the given sink.
+     *
+     * @param clock the clock delivering ticks and providing the main thread
+     * @param eventSink the sink triggering delivered lifecycle events
+     * @param logger the logger used to report failing countdown tasks
+     * @param shards the number of independently ticking shards, at least one
+     * @param aggregateEvents whether a batch event is triggered after each batch of lifecycle events
+     * @param policy the policy relating engine ticks to real time
+     * @param guard the guard invoking tickers and completion callbacks
+     */
+    CountdownScheduler(final CountdownClock clock, final CountdownEventSink eventSink, final Logger logger,
+            final int shards, final boolean aggregateEvents, final CountdownTimePolicy policy,
+            final CountdownCallbackGuard guard) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+
+        this.clock = clock;
+        this.guard = guard;
+        this.logger = logger;
+        this.events = new CountdownEventPipeline(clock, eventSink, aggregateEvents, metrics);
+        this.displays = new CountdownDisplayOutbox(clock, metrics);
+        this.drivers = new CountdownTickDriver[shards];
+
+        for (int shard = 0; shard < shards; shard++) {
+            drivers[shard] = new CountdownTickDriver(logger, this::afterTick, clock, policy, metrics);
+            clock.onTick(drivers[shard]::tick);
+        }
+    }
+
+    /**
+     * Returns the number of shards the engine is split into.
+     *
+     * @return the shard count
      */
-    CountdownScheduler(final Server server, final CountdownPlugin plugin) {
-        this.server = server;
-        this.plugin = plugin;
-        this.scheduler = server.getScheduler();
+    int shardCount() {
+        return drivers.length;
     }
 
     /**
-     * Runs a task asynchronously on the server. The task will be handled 
+     * Runs a task asynchronously on the server. The task will be handled
      * separately from the main server thread.
      *
      * @param task the {@link Runnable} task to be executed asynchronously
      */
     void runAsync(final Runnable task) {
-        server.getScheduler().runTask(plugin, task);
+        clock.runOnMainThread(metrics.mainThreadHop(task));
     }
 
     /**
-     * Runs a task periodically at a fixed rate asynchronously. The task 
-     * will begin after the specified initial delay and continue to run 
+     * Returns the clock the engine runs on.
+     *
+     * @return the engine clock
+     */
+    CountdownClock clock() {
+        return clock;
+    }
+
+    /**
+     * Returns the metrics of the engine.
+     *
+     * @return the engine metrics
+     */
+    CountdownMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the outbox batching display updates until the end of each tick.
+     *
+     * @return the display outbox
+     */
+    CountdownDisplayOutbox displays() {
+        return displays;
+    }
+
+    /**
+     * Returns the guard user callbacks are invoked through.
+     *
+     * @return the callback guard
+     */
+    CountdownCallbackGuard guard() {
+        return guard;
+    }
+
+    /**
+     * Returns the logger failing countdown work is reported to.
+     *
+     * @return the logger
+     */
+    Logger logger() {
+        return logger;
+    }
+
+    /**
+     * Publishes a lifecycle event, delivered with the batch of the current tick on the main thread, or on the
+     * tick thread when events are {@link #asyncEvents() asynchronous}.
+     *
+     * @param event the event to deliver
+     */
+    void publish(final Event event) {
+        events.publish(event);
+    }
+
+    /**
+     * Returns whether lifecycle events using the given handler list have listeners. Publishers skip building
+     * events nobody listens to.
+     *
+     * @param handlers the handler list of the event type
+     * @return true if events of the type should be published
+     */
+    boolean isListened(final HandlerList handlers) {
+        return events.isListened(handlers);
+    }
+
+    /**
+     * Returns whether lifecycle events are delivered asynchronously and must be built with the asynchronous
+     * flag set.
+     *
+     * @return true if published events are asynchronous
+     */
+    boolean asyncEvents() {
+        return events.isAsync();
+    }
+
+    /**
+     * Runs a task periodically at a fixed rate on the engine tick driver. The task
+     * will begin after the specified initial delay and continue to run
      * at the specified period.
      *
+     * @param owner the countdown ID owning the task, reported by leak diagnostics
      * @param task the {@link Runnable} task to be executed periodically
      * @param initialDelay the delay before the task starts, in server ticks
      * @param period the period between successive executions, in server ticks
+     * @return the handle of the timing wheel entry backing the task
      */
-    void runTaskTimerAsynchronously(final Runnable task, final long initialDelay, final long period) {
-        scheduler.runTaskTimerAsynchronously(plugin, task, initialDelay, period);
+    CountdownWheelEntry runTaskTimerAsynchronously(final String owner, final Runnable task,
+            final long initialDelay, final long period) {
+        return driverOf(owner).schedule(owner, entry -> task.run(), initialDelay, period);
+    }
+
+    /**
+     * Schedules a task on the engine tick driver that receives its own timer entry,
+     * so it can change its period or stop itself on the driver thread.
+     *
+     * @param owner the countdown ID owning the task, reported by leak diagnostics
+     * @param task the task to be executed
+     * @param initialDelay the delay before the task starts, in server ticks
+     * @param period the period between successive executions, in server ticks
+     * @return the handle of the timing wheel entry backing the task
+     */
+    CountdownWheelEntry schedule(final String owner, final CountdownWheelTask task,
+            final long initialDelay, final long period) {
+        return driverOf(owner).schedule(owner, task, initialDelay, period);
+    }
+
+    /**
+     * Returns the number of timers currently held by all tick drivers.
+     *
+     * @return the live timer count
+     */
+    int liveTimers() {
+        int live = 0;
+        for (final CountdownTickDriver driver : drivers) {
+            live += driver.liveTimers();
+        }
+
+        return live;
+    }
+
+    /**
+     * Returns the number of timers currently held by the driver of one shard.
+     *
+     * @param shard the shard index
+     * @return the live timer count of that shard
+     */
+    int liveTimers(final int shard) {
+        return drivers[shard].liveTimers();
+    }
+
+    /**
+     * Returns the time the driver of one shard spent on its last tick.
+     *
+     * @param shard the shard index
+     * @return the duration of the last tick in nanoseconds
+     */
+    long lastTickNanos(final int shard) {
+        return drivers[shard].lastTickNanos();
+    }
+
+    /**
+     * Collects the owning countdown ID of every live timer.
+     *
+     * @return a future completed once every shard has scanned its timers, with one owner per live timer
+     */
+    CompletableFuture<List<String>> timerOwners() {
+        final List<CompletableFuture<List<String>>> scans = new ArrayList<>(drivers.length);
+        for (final CountdownTickDriver driver : drivers) {
+            scans.add(driver.timerOwners());
+        }
+
+        return CompletableFuture.allOf(scans.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            final List<String> owners = new ArrayList<>();
+            for (final CompletableFuture<List<String>> scan : scans) {
+                owners.addAll(scan.join());
+            }
+
+            return owners;
+        });
+    }
+
+    /**
+     * Stops the clock and every tick driver, releasing every timer still scheduled.
+     * Lifecycle events still queued are delivered on the calling thread, which must be the main thread.
+     */
+    void shutdown() {
+        clock.stop();
+        for (final CountdownTickDriver driver : drivers) {
+            driver.stop();
+        }
+
+        events.close();
+        displays.deliver();
+        guard.shutdown();
+    }
+
+    private void afterTick() {
+        events.flush();
+        displays.flush();
+        if (metrics.isEnabled()) {
+            metrics.sample(clock.nanoTime());
+        }
+    }
+
+    private CountdownTickDriver driverOf(final String owner) {
+        return drivers[CountdownRegistry.shardOf(owner, drivers.length)];
     }
-}
\ No newline at end of file
+}
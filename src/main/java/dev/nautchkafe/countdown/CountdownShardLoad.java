@@ -0,0 +1,17 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * A record describing the load of a single countdown shard, used to size the shard count.
+ *
+ * @param shard          the shard index
+ * @param registered     the countdowns registered in the shard
+ * @param liveTimers     the timers currently held by the shard's wheel
+ * @param lastTickNanos  the time the shard's driver spent on its last tick, in nanoseconds
+ */
+record CountdownShardLoad(
+    int shard,
+    int registered,
+    int liveTimers,
+    long lastTickNanos
+) {
+}
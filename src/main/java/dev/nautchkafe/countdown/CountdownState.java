@@ -0,0 +1,20 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * The lifecycle states of a countdown task.
+ *
+ * <p>A task is registered as {@link #PENDING}, moves to {@link #RUNNING} once its start has been published,
+ * and ends in exactly one of the terminal states {@link #FINISHED} or {@link #CANCELLED}. Every transition is
+ * a compare-and-set, so concurrent callers agree on a single winner for the start and for the terminal state.</p>
+ */
+enum CountdownState {
+
+    PENDING,
+    RUNNING,
+    FINISHED,
+    CANCELLED;
+
+    boolean isTerminal() {
+        return this == FINISHED || this == CANCELLED;
+    }
+}
@@ -2,20 +2,99 @@ package dev.nautchkafe.countdown;
 
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A record representing a task for counting down to a specified end time.
- * It holds a future task and provides the ability to cancel the countdown.
- * Cancellation triggers the execution of a provided callback.
+ * It holds a future task together with the timer of the phase currently armed and
+ * the lifecycle state of the countdown, and provides the ability to cancel the countdown.
+ * Cancellation releases the timer and triggers the execution of a provided callback.
  */
 record CountdownTask(
     CompletableFuture<Void> future,
     Instant endTime,
-    CountdownCancel cancel
+    CountdownCancel cancel,
+    AtomicReference<CountdownWheelEntry> timer,
+    AtomicReference<CountdownState> state
 ) {
-    
-    void cancel(final String countdownId) {
+
+    CountdownTask(final CompletableFuture<Void> future, final Instant endTime, final CountdownCancel cancel) {
+        this(future, endTime, cancel, new AtomicReference<>(), new AtomicReference<>(CountdownState.PENDING));
+    }
+
+    /**
+     * Moves the task from {@link CountdownState#PENDING} to {@link CountdownState#RUNNING}.
+     *
+     * @return true if this call started the task, false if it was cancelled while pending
+     */
+    boolean start() {
+        return state.compareAndSet(CountdownState.PENDING, CountdownState.RUNNING);
+    }
+
+    /**
+     * Moves the task from {@link CountdownState#RUNNING} to {@link CountdownState#FINISHED}.
+     *
+     * @return true if this call finished the task, false if it already reached a terminal state
+     */
+    boolean finish() {
+        return state.compareAndSet(CountdownState.RUNNING, CountdownState.FINISHED);
+    }
+
+    /**
+     * Moves the task to {@link CountdownState#CANCELLED} unless it already reached a terminal state.
+     *
+     * @return the state the task was cancelled from, or its terminal state if this call lost the race
+     */
+    CountdownState requestCancel() {
+        CountdownState current = state.get();
+        while (!current.isTerminal()) {
+            if (state.compareAndSet(current, CountdownState.CANCELLED)) {
+                return current;
+            }
+
+            current = state.get();
+        }
+
+        return current;
+    }
+
+    /**
+     * Takes ownership of the timer backing the current phase, releasing the previous one.
+     * A timer armed after the task has finished or been cancelled is released immediately.
+     *
+     * @param entry the timer of the newly armed phase
+     */
+    void arm(final CountdownWheelEntry entry) {
+        final CountdownWheelEntry previous = timer.getAndSet(entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        if (future.isDone()) {
+            release();
+        }
+    }
+
+    /**
+     * Releases the timer currently owned by this task, if any.
+     */
+    void release() {
+        final CountdownWheelEntry entry = timer.getAndSet(null);
+        if (entry != null) {
+            entry.cancel();
+        }
+    }
+
+    /**
+     * Runs the side effects of a won cancellation: stops the phase chain, releases its timer and
+     * invokes the cancel callback under the given guard, so a slow callback is quarantined like any other.
+     *
+     * @param countdownId the unique identifier for the countdown
+     * @param guard the guard invoking the cancel callback
+     */
+    void cancel(final String countdownId, final CountdownCallbackGuard guard) {
         future.cancel(true);
-        cancel.accept(countdownId);
+        release();
+        guard.invoke(countdownId, () -> cancel.accept(countdownId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,184 @@
+package dev.nautchkafe.countdown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * The {@code CountdownTickDriver} owns the {@link CountdownTimingWheel} and advances it along the engine timeline.
+ *
+ * <p>Ticks may be signalled from any thread. Each signal moves the target of the timeline as decided by
+ * the {@link CountdownTimePolicy}: by one tick, or up to the ticks elapsed on the clock's monotonic time.
+ * The driver guarantees that only one thread advances the wheel at a time; the thread holding it catches
+ * the wheel up to the target, including ticks signalled meanwhile, so no tick is ever lost or processed twice.
+ * After the due ticks have been processed the driver runs its after-tick hook once.</p>
+ */
+final class CountdownTickDriver {
+
+    private final CountdownTimingWheel wheel;
+    private final Runnable afterTick;
+    private final CountdownClock clock;
+    private final CountdownTimePolicy policy;
+    private final CountdownMetrics metrics;
+    private final long origin;
+    private final AtomicLong targetTicks = new AtomicLong();
+    private volatile long processedTicks;
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private volatile Thread driverThread;
+    private volatile boolean stopped;
+    private volatile long lastTickNanos;
+
+    /**
+     * Constructs a tick driver with an empty timing wheel whose timeline starts now.
+     *
+     * @param logger    the logger used to report failing countdown tasks
+     * @param afterTick the hook run after each batch of processed ticks
+     * @param clock     the clock providing the monotonic time
+     * @param policy    the policy deciding how far each signalled tick moves the timeline
+     * @param metrics   the metrics counting the processed ticks
+     */
+    CountdownTickDriver(final Logger logger, final Runnable afterTick, final CountdownClock clock,
+            final CountdownTimePolicy policy, final CountdownMetrics metrics) {
+        this.wheel = new CountdownTimingWheel(logger);
+        this.afterTick = afterTick;
+        this.clock = clock;
+        this.policy = policy;
+        this.metrics = metrics;
+        this.origin = clock.nanoTime() - CountdownTimePolicy.NANOS_PER_TICK / 2;
+    }
+
+    /**
+     * Schedules a task on the driven wheel.
+     *
+     * @param owner  the countdown ID owning the task, or {@code null} for engine tasks
+     * @param task   the task to run
+     * @param delay  the delay in ticks before the first execution
+     * @param period the period in ticks between executions, or {@code 0} to run only once
+     * @return the handle of the scheduled entry
+     */
+    CountdownWheelEntry schedule(final String owner, final CountdownWheelTask task, final long delay, final long period) {
+        final CountdownWheelEntry entry = wheel.schedule(owner, task, delay, period);
+        if (stopped) {
+            entry.cancel();
+        }
+
+        return entry;
+    }
+
+    /**
+     * Returns the number of entries currently linked into the wheel.
+     *
+     * @return the live timer count
+     */
+    int liveTimers() {
+        return wheel.size();
+    }
+
+    /**
+     * Returns the time spent processing the last batch of ticks.
+     *
+     * @return the duration of the last tick in nanoseconds
+     */
+    long lastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Collects the owners of every live wheel entry. The scan runs on the driver thread during the next tick.
+     *
+     * @return a future completed with one owner per live owned entry
+     */
+    CompletableFuture<List<String>> timerOwners() {
+        final CompletableFuture<List<String>> owners = new CompletableFuture<>();
+        if (stopped) {
+            owners.complete(List.of());
+            return owners;
+        }
+
+        wheel.schedule(null, scan -> {
+            final List<String> found = new ArrayList<>(wheel.size());
+            wheel.forEach(entry -> {
+                if (entry.owner() != null && !entry.isCancelled()) {
+                    found.add(entry.owner());
+                }
+            });
+
+            owners.complete(found);
+        }, 0L, 0L);
+
+        return owners;
+    }
+
+    /**
+     * Stops the driver and releases every timer still held by the wheel.
+     * Waits for a tick currently in progress to finish first; later ticks are ignored.
+     *
+     * <p>Called from the thread running the tick, such as from a task or from a callback the clock runs
+     * inline, the driver cannot wait for its own tick: the wheel is then released once that tick ends.</p>
+     */
+    void stop() {
+        stopped = true;
+        if (driverThread == Thread.currentThread()) {
+            return;
+        }
+
+        while (!ticking.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+
+        wheel.clear();
+    }
+
+    /**
+     * Signals that one server tick has elapsed.
+     *
+     * <p>Under {@link CountdownTimePolicy#WALL_CLOCK} the timeline moves to the number of whole ticks
+     * elapsed since the driver was created, rounded to the nearest tick so that jitter in the signals
+     * does not make the timeline stutter. A signal arriving early may therefore move nothing, and one
+     * arriving after a lag spike catches up every tick the spike swallowed.</p>
+     */
+    void tick() {
+        if (stopped) {
+            return;
+        }
+
+        if (policy == CountdownTimePolicy.WALL_CLOCK) {
+            final long elapsed = (clock.nanoTime() - origin) / CountdownTimePolicy.NANOS_PER_TICK;
+            targetTicks.accumulateAndGet(elapsed, Math::max);
+        } else {
+            targetTicks.incrementAndGet();
+        }
+
+        while (ticking.compareAndSet(false, true)) {
+            driverThread = Thread.currentThread();
+            try {
+                final long start = System.nanoTime();
+                final long first = processedTicks;
+                long processed = first;
+                long target;
+                while (!stopped && processed < (target = targetTicks.get())) {
+                    wheel.advance(target - ++processed);
+                    processedTicks = processed;
+                }
+
+                metrics.ticksProcessed(processed - first);
+                lastTickNanos = System.nanoTime() - start;
+                afterTick.run();
+            } finally {
+                driverThread = null;
+                if (stopped) {
+                    wheel.clear();
+                }
+
+                ticking.set(false);
+            }
+
+            if (stopped || processedTicks >= targetTicks.get()) {
+                return;
+            }
+        }
+    }
+}
@@ -16,4 +16,57 @@ interface CountdownTicker {
      * @param ticksLeft the number of ticks left in the countdown
      */
     void apply(final String countdownId, final long secondsLeft, final long ticksLeft);
-}
\ No newline at end of file
+
+    /**
+     * Returns the ticker instance used for a single run of a phase.
+     * Stateless tickers return themselves; stateful ones return a fresh copy so that
+     * phases shared between countdowns never share per-run state.
+     *
+     * @return the ticker to be applied for one phase run
+     */
+    default CountdownTicker fork() {
+        return this;
+    }
+
+    /**
+     * Called on the thread driving the countdown once it leaves the phase run this ticker was forked for,
+     * whether the phase ran out, was skipped or the countdown was cancelled. Tickers holding resources
+     * shown to players, such as a boss bar, release them here.
+     *
+     * @param countdownId the unique identifier for the countdown event
+     */
+    default void close(final String countdownId) {
+    }
+
+    /**
+     * Returns a ticker applying this ticker and then the given one on every edge. Forking or closing the
+     * returned ticker forks or closes both.
+     *
+     * @param next the ticker applied after this one
+     * @return the combined ticker
+     */
+    default CountdownTicker andThen(final CountdownTicker next) {
+        final CountdownTicker first = this;
+        return new CountdownTicker() {
+
+            @Override
+            public void apply(final String countdownId, final long secondsLeft, final long ticksLeft) {
+                first.apply(countdownId, secondsLeft, ticksLeft);
+                next.apply(countdownId, secondsLeft, ticksLeft);
+            }
+
+            @Override
+            public CountdownTicker fork() {
+                final CountdownTicker firstFork = first.fork();
+                final CountdownTicker nextFork = next.fork();
+                return firstFork == first && nextFork == next ? this : firstFork.andThen(nextFork);
+            }
+
+            @Override
+            public void close(final String countdownId) {
+                first.close(countdownId);
+                next.close(countdownId);
+            }
+        };
+    }
+}
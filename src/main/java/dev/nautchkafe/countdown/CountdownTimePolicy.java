@@ -0,0 +1,26 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * An enum deciding how the engine's ticks relate to real time.
+ *
+ * <p>Every phase deadline is an absolute tick on the engine timeline. The policy decides how far the
+ * timeline moves each time the {@link CountdownClock} delivers a tick. Ticks the engine falls behind
+ * on are caught up in one go, and ticker edges overtaken during the catch-up are coalesced into the
+ * last one.</p>
+ */
+enum CountdownTimePolicy {
+
+    /**
+     * The timeline follows the monotonic time of the clock, one tick per 50 milliseconds elapsed.
+     * A 60 second countdown takes 60 seconds even when the server runs below 20 TPS.
+     */
+    WALL_CLOCK,
+
+    /**
+     * The timeline moves one tick per tick delivered by the clock. Countdowns stay in step with the
+     * game, so under lag a 60 second countdown takes as long as 1200 server ticks do.
+     */
+    GAME_TICK;
+
+    static final long NANOS_PER_TICK = 50_000_000L;
+}
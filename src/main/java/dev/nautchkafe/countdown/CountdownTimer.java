@@ -1,10 +1,20 @@
 package dev.nautchkafe.countdown;
 
 import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * The {@code CountdownTimer} class manages countdown tasks, allowing starts and cancellations.
@@ -12,9 +22,14 @@ import java.util.Map;
  */
 final class CountdownTimer {
 
-    private final Server server;
     private final CountdownScheduler scheduler;
-    private final Map<String, CountdownTask> tasks = new ConcurrentHashMap<>();
+    private final CountdownRegistry tasks;
+    private final CountdownJournal journal;
+    private final CountdownDispatcher control;
+    private final CountdownCooldowns cooldowns;
+    private final CountdownCallbackExecutor callbacks;
+    private final Map<String, CountdownGroup> groups = new ConcurrentHashMap<>();
+    private final Map<String, CountdownPlan> plans = new ConcurrentHashMap<>();
 
     /**
      * Constructs a {@code CountdownTimer} with the specified server.
@@ -23,8 +38,68 @@ final class CountdownTimer {
      * @param server the server context used by this countdown timer
      */
     CountdownTimer(final Server server) {
-        this.server = server;
-        this.scheduler = new CountdownScheduler(server);
+        this(new CountdownScheduler(server));
+    }
+
+    /**
+     * Constructs a {@code CountdownTimer} whose timers are owned by the given plugin.
+     *
+     * @param server the server context used by this countdown timer
+     * @param plugin the plugin owning the scheduled work
+     */
+    CountdownTimer(final Server server, final Plugin plugin) {
+        this(server, plugin, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a {@code CountdownTimer} whose registry and tick drivers are split into the given number of shards.
+     *
+     * @param server the server context used by this countdown timer
+     * @param plugin the plugin owning the scheduled work
+     * @param shards the number of independently ticking shards
+     */
+    CountdownTimer(final Server server, final Plugin plugin, final int shards) {
+        this(new CountdownScheduler(server, plugin, shards, false, CountdownTimePolicy.WALL_CLOCK));
+    }
+
+    /**
+     * Constructs a {@code CountdownTimer} on top of an existing scheduler, for example one running
+     * on a {@link VirtualCountdownClock}.
+     *
+     * @param scheduler the scheduler driving the countdowns
+     */
+    CountdownTimer(final CountdownScheduler scheduler) {
+        this(scheduler, CountdownJournal.none());
+    }
+
+    /**
+     * Constructs a {@code CountdownTimer} on top of an existing scheduler, persisting its countdowns
+     * into the given journal so they can be recovered after a restart.
+     *
+     * @param scheduler the scheduler driving the countdowns
+     * @param journal the journal recording the lifecycle of every countdown
+     */
+    CountdownTimer(final CountdownScheduler scheduler, final CountdownJournal journal) {
+        this(scheduler, journal, new CountdownCallbackExecutor(16, 1024, scheduler.logger()));
+    }
+
+    /**
+     * Constructs a {@code CountdownTimer} running the callbacks of {@link CountdownCallbackMode#BLOCKING}
+     * countdowns on the given executor, which the timer owns and shuts down with itself.
+     *
+     * @param scheduler the scheduler driving the countdowns
+     * @param journal the journal recording the lifecycle of every countdown
+     * @param callbacks the executor of blocking callbacks
+     */
+    CountdownTimer(final CountdownScheduler scheduler, final CountdownJournal journal,
+            final CountdownCallbackExecutor callbacks) {
+        this.scheduler = scheduler;
+        this.callbacks = callbacks;
+        this.tasks = new CountdownRegistry(scheduler.shardCount());
+        this.journal = journal;
+        this.control = new CountdownDispatcher(scheduler, tasks, journal, null, null);
+        this.cooldowns = new CountdownCooldowns(scheduler);
+        scheduler.metrics().bindActiveCountdowns(tasks::size);
     }
 
     /**
@@ -37,15 +112,521 @@ final class CountdownTimer {
      */
     public void startPhasedCountdown(final String countdownId,
             final List<CountdownPhase> phases, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
-        new CountdownDispatcher(scheduler, tasks, onComplete, onCancel).startPhasedCountdown(countdownId, phases);
+        startPhasedCountdown(countdownId, CountdownPlan.of(phases), onComplete, onCancel);
+    }
+
+    /**
+     * Starts a phased countdown running a shared plan, typically one interned with {@link #plan(String, Supplier)}.
+     *
+     * @param countdownId the unique identifier for the countdown task
+     * @param plan the plan of phases to execute in sequence during the countdown
+     * @param onComplete the action to perform upon successful countdown completion
+     * @param onCancel the action to perform if the countdown is canceled
+     */
+    public void startPhasedCountdown(final String countdownId,
+            final CountdownPlan plan, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        new CountdownDispatcher(scheduler, tasks, journal, onComplete, onCancel).startPhasedCountdown(countdownId, plan);
+    }
+
+    /**
+     * Starts a phased countdown carrying the given tags, such as {@code arena:3}, by which it can be found with
+     * {@link #tagged(String)} and {@link #taggedWithPrefix(String)} while it runs.
+     *
+     * @param countdownId the unique identifier for the countdown task
+     * @param plan the plan of phases to execute in sequence during the countdown
+     * @param tags the tags of the countdown
+     * @param onComplete the action to perform upon successful countdown completion
+     * @param onCancel the action to perform if the countdown is canceled
+     */
+    public void startPhasedCountdown(final String countdownId, final CountdownPlan plan, final Set<String> tags,
+            final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        startPhasedCountdown(countdownId, plan, tags, CountdownCallbackMode.ENGINE, onComplete, onCancel);
+    }
+
+    /**
+     * Starts a phased countdown carrying the given tags whose completion and cancel callbacks run as the given
+     * mode decides. {@link CountdownCallbackMode#BLOCKING} callbacks run on virtual threads and may block.
+     *
+     * @param countdownId the unique identifier for the countdown task
+     * @param plan the plan of phases to execute in sequence during the countdown
+     * @param tags the tags of the countdown
+     * @param mode where the completion and cancel callbacks run
+     * @param onComplete the action to perform upon successful countdown completion
+     * @param onCancel the action to perform if the countdown is canceled
+     */
+    public void startPhasedCountdown(final String countdownId, final CountdownPlan plan, final Set<String> tags,
+            final CountdownCallbackMode mode, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        final boolean blocking = mode == CountdownCallbackMode.BLOCKING;
+        new CountdownDispatcher(scheduler, tasks, journal, blocking ? callbacks.completion(onComplete) : onComplete,
+            blocking ? callbacks.cancel(onCancel) : onCancel).startPhasedCountdown(countdownId, plan, Set.copyOf(tags));
+    }
+
+    /**
+     * Returns the executor running the callbacks of {@link CountdownCallbackMode#BLOCKING} countdowns, whose
+     * wrappers can also be used for callbacks bound on {@link #recover(CountdownRecovery) recovery}.
+     *
+     * @return the blocking callback executor
+     */
+    CountdownCallbackExecutor callbacks() {
+        return callbacks;
+    }
+
+    /**
+     * Returns the plan interned under the given name, compiling it from the supplied phases the first
+     * time the name is seen. Countdowns started from the returned plan share its phases, durations and
+     * alert schedules instead of carrying their own copies.
+     *
+     * @param name the name of the plan
+     * @param phases the supplier of the phases, invoked at most once per name
+     * @return the interned plan
+     */
+    public CountdownPlan plan(final String name, final Supplier<List<CountdownPhase>> phases) {
+        return plans.computeIfAbsent(name, key -> CountdownPlan.of(key, phases.get()));
+    }
+
+    /**
+     * Returns the plan interned under the given name, if any.
+     *
+     * @param name the name of the plan
+     * @return the interned plan, or {@code null} if no plan was interned under the name
+     */
+    CountdownPlan internedPlan(final String name) {
+        return plans.get(name);
+    }
+
+    /**
+     * Starts a phased countdown from the given position in its plan, such as one replicated from
+     * another server.
+     *
+     * @param countdownId the unique identifier for the countdown task
+     * @param plan the plan of phases to execute in sequence during the countdown
+     * @param phase the index of the phase to start from
+     * @param ticks the ticks left in that phase
+     * @param onComplete the action to perform upon successful countdown completion
+     * @param onCancel the action to perform if the countdown is canceled
+     * @return true if the countdown was started, false if the ID was already running
+     */
+    boolean resumePhasedCountdown(final String countdownId, final CountdownPlan plan, final int phase,
+            final long ticks, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        return new CountdownDispatcher(scheduler, tasks, journal, onComplete, onCancel)
+            .resumePhasedCountdown(countdownId, plan, phase, ticks) != null;
+    }
+
+    /**
+     * Moves a running countdown to the given position in its plan without publishing control events.
+     *
+     * @param countdownId the unique identifier of the countdown task
+     * @param phase the index of the phase to run
+     * @param ticks the ticks left in that phase
+     * @return true if the move was queued; false if no such countdown runs a timer of its own
+     */
+    boolean seek(final String countdownId, final int phase, final long ticks) {
+        return control.seek(countdownId, phase, ticks);
+    }
+
+    /**
+     * Starts a group of countdowns sharing one phase plan and one set of callbacks.
+     *
+     * <p>Every member is an ordinary countdown with its own events, ticker fork and callbacks, but the
+     * whole group is driven by a single timer, so starting and cancelling thousands of members at once
+     * costs one timer rather than thousands. IDs already running are left untouched and not added to
+     * the group. If a group with the same ID is still running, it is returned instead.</p>
+     *
+     * @param groupId the unique identifier of the group
+     * @param countdownIds the unique identifiers of the member countdowns
+     * @param phases the list of phases every member runs through
+     * @param onComplete the action to perform for every member completing
+     * @param onCancel the action to perform for every member cancelled
+     * @return the handle of the group
+     */
+    public CountdownGroup startGroup(final String groupId, final Collection<String> countdownIds,
+            final List<CountdownPhase> phases, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        return startGroup(groupId, countdownIds, CountdownPlan.of(phases), onComplete, onCancel);
+    }
+
+    /**
+     * Starts a group of countdowns running a shared plan.
+     *
+     * @param groupId the unique identifier of the group
+     * @param countdownIds the unique identifiers of the member countdowns
+     * @param plan the plan of phases every member runs through
+     * @param onComplete the action to perform for every member completing
+     * @param onCancel the action to perform for every member cancelled
+     * @return the handle of the group
+     * @see #startGroup(String, Collection, List, CountdownCompletion, CountdownCancel)
+     */
+    public CountdownGroup startGroup(final String groupId, final Collection<String> countdownIds,
+            final CountdownPlan plan, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        final CountdownDispatcher dispatcher = new CountdownDispatcher(scheduler, tasks, journal, onComplete, onCancel);
+        final CountdownGroup group = new CountdownGroup(groupId, dispatcher);
+        final CountdownGroup running = groups.putIfAbsent(groupId, group);
+        if (running != null) {
+            return running;
+        }
+
+        group.task().future().whenComplete((result, failure) -> groups.remove(groupId, group));
+        dispatcher.startGroup(group, countdownIds, plan);
+        return group;
+    }
+
+    /**
+     * Returns the running group with the given ID.
+     *
+     * @param groupId the unique identifier of the group
+     * @return the group, or {@code null} if no such group is running
+     */
+    public CountdownGroup group(final String groupId) {
+        return groups.get(groupId);
+    }
+
+    /**
+     * Starts a phased countdown keyed by a UUID, typically a player's. The countdown's string ID, used in
+     * events and callbacks, is the UUID's string form and is built only when the countdown actually starts;
+     * {@link #hasCountdown(UUID)} and {@link #cancel(UUID)} look the countdown up without building it again.
+     *
+     * @param key the UUID identifying the countdown
+     * @param plan the plan of phases to execute in sequence during the countdown
+     * @param onComplete the action to perform upon successful countdown completion
+     * @param onCancel the action to perform if the countdown is canceled
+     */
+    public void startPhasedCountdown(final UUID key,
+            final CountdownPlan plan, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        final long high = key.getMostSignificantBits();
+        final long low = key.getLeastSignificantBits();
+        if (!tasks.uuidKeys().contains(high, low)) {
+            new CountdownDispatcher(scheduler, tasks, journal, onComplete, onCancel)
+                .startPhasedCountdown(tasks.uuidKeys(), high, low, key.toString(), plan);
+        }
+    }
+
+    /**
+     * Starts a phased countdown keyed by an entity ID. The countdown's string ID, used in events and
+     * callbacks, is the decimal form of the key and is built only when the countdown actually starts.
+     *
+     * @param key the entity ID identifying the countdown
+     * @param plan the plan of phases to execute in sequence during the countdown
+     * @param onComplete the action to perform upon successful countdown completion
+     * @param onCancel the action to perform if the countdown is canceled
+     */
+    public void startPhasedCountdown(final long key,
+            final CountdownPlan plan, final CountdownCompletion onComplete, final CountdownCancel onCancel) {
+        if (!tasks.entityKeys().contains(0L, key)) {
+            new CountdownDispatcher(scheduler, tasks, journal, onComplete, onCancel)
+                .startPhasedCountdown(tasks.entityKeys(), 0L, key, Long.toString(key), plan);
+        }
+    }
+
+    /**
+     * Starts a cooldown: a tickless countdown that stores only its deadline, costing no work per tick while
+     * it runs. Suits countdowns without per-tick behavior, whose callers only ask {@link #hasCountdown(String)}
+     * and wait for the completion callback. Does nothing if a cooldown with the same ID is still running.
+     *
+     * @param countdownId the unique identifier of the cooldown
+     * @param duration the length of the cooldown
+     * @param onComplete the action to perform on the main thread once the cooldown expires
+     * @return true if the cooldown was started
+     * @see CountdownCooldowns
+     */
+    public boolean startCooldown(final String countdownId, final Duration duration, final CountdownCompletion onComplete) {
+        return cooldowns.start(countdownId, duration.toNanos(), onComplete);
+    }
+
+    /**
+     * Starts a cooldown under the given UUID, whose string form is passed to the completion callback.
+     *
+     * @param key the UUID identifying the cooldown
+     * @param duration the length of the cooldown
+     * @param onComplete the action to perform on the main thread once the cooldown expires
+     * @return true if the cooldown was started
+     */
+    public boolean startCooldown(final UUID key, final Duration duration, final CountdownCompletion onComplete) {
+        return cooldowns.start(key, duration.toNanos(), onComplete);
+    }
+
+    /**
+     * Returns the time left in the cooldown with the given ID, read from the clock.
+     *
+     * @param countdownId the unique identifier of the cooldown
+     * @return the time left, or {@link Duration#ZERO} if no such cooldown is running
+     */
+    public Duration cooldownRemaining(final String countdownId) {
+        return Duration.ofNanos(cooldowns.remainingNanos(countdownId));
+    }
+
+    /**
+     * Returns the time left in the cooldown started under the given UUID, read from the clock.
+     *
+     * @param key the UUID identifying the cooldown
+     * @return the time left, or {@link Duration#ZERO} if no such cooldown is running
+     */
+    public Duration cooldownRemaining(final UUID key) {
+        return Duration.ofNanos(cooldowns.remainingNanos(key));
+    }
+
+    /**
+     * Returns the time left in the countdown or cooldown with the given ID, across all its remaining phases.
+     * A paused countdown reports the time it had left when it was paused.
+     *
+     * @param countdownId the unique identifier of the countdown
+     * @return the time left, or {@link Duration#ZERO} if no such countdown is running
+     */
+    public Duration remaining(final String countdownId) {
+        final long remaining = tasks.index().remainingNanos(countdownId, scheduler.clock().nanoTime());
+        return remaining >= 0 ? Duration.ofNanos(remaining) : cooldownRemaining(countdownId);
+    }
+
+    /**
+     * Returns the running countdowns expected to end within the given time from now, earliest first.
+     * Paused countdowns and cooldowns are not included.
+     *
+     * @param window the time from now
+     * @return a lazy view of the countdown IDs, walked without copying the registry
+     * @see CountdownIndex
+     */
+    public Stream<String> endingWithin(final Duration window) {
+        final long now = scheduler.clock().nanoTime();
+        return tasks.index().endingBetween(now, now + window.toNanos() + 1);
+    }
+
+    /**
+     * Returns the running countdowns started with the given tag.
+     *
+     * @param tag the tag
+     * @return a lazy view of the countdown IDs, in ID order
+     */
+    public Stream<String> tagged(final String tag) {
+        return tasks.index().tagged(tag);
+    }
+
+    /**
+     * Returns the running countdowns started with a tag beginning with the given prefix, such as {@code arena:}.
+     *
+     * @param prefix the tag prefix
+     * @return the countdown IDs, each returned once, collected when the query is made
+     */
+    public Stream<String> taggedWithPrefix(final String prefix) {
+        return tasks.index().taggedWithPrefix(prefix);
+    }
+
+    /**
+     * Checks whether a countdown or cooldown with the given ID is running.
+     *
+     * @param countdownId the unique identifier of the countdown task
+     * @return true if the countdown is registered or the cooldown's deadline has not passed
+     */
+    public boolean hasCountdown(final String countdownId) {
+        return control.hasCountdown(countdownId) || cooldowns.isActive(countdownId);
+    }
+
+    /**
+     * Checks whether a countdown or cooldown started under the given UUID is running. Does not allocate.
+     *
+     * @param key the UUID identifying the countdown
+     * @return true if the countdown has not ended yet
+     */
+    public boolean hasCountdown(final UUID key) {
+        return control.hasCountdown(tasks.uuidKeys(), key.getMostSignificantBits(), key.getLeastSignificantBits())
+            || cooldowns.isActive(key);
+    }
+
+    /**
+     * Checks whether a countdown started under the given entity ID is running. Does not allocate.
+     *
+     * @param key the entity ID identifying the countdown
+     * @return true if the countdown has not ended yet
+     */
+    public boolean hasCountdown(final long key) {
+        return control.hasCountdown(tasks.entityKeys(), 0L, key);
     }
 
     /**
-     * Cancels an ongoing countdown task identified by the given ID.
+     * Cancels the countdown or cooldown started under the given UUID. A cancelled cooldown runs no callback.
+     *
+     * @param key the UUID identifying the countdown
+     */
+    public void cancel(final UUID key) {
+        control.cancel(tasks.uuidKeys(), key.getMostSignificantBits(), key.getLeastSignificantBits());
+        cooldowns.cancel(key);
+    }
+
+    /**
+     * Cancels the countdown started under the given entity ID.
+     *
+     * @param key the entity ID identifying the countdown
+     */
+    public void cancel(final long key) {
+        control.cancel(tasks.entityKeys(), 0L, key);
+    }
+
+    /**
+     * Cancels an ongoing countdown task or cooldown identified by the given ID. A cancelled cooldown runs no callback.
      * 
      * @param countdownId the unique identifier of the countdown task to cancel
      */
     public void cancel(final String countdownId) {
-        new CountdownDispatcher(scheduler, tasks, null, null).cancel(countdownId);
+        control.cancel(countdownId);
+        cooldowns.cancel(countdownId);
+    }
+
+    /**
+     * Returns the outbox display updates can be batched through, so that everything shown during a tick
+     * is sent on the main thread after it, at most once per viewer and channel.
+     *
+     * @return the display outbox of this timer's engine
+     * @see CountdownDisplay#batchedThrough(CountdownDisplayOutbox)
+     */
+    public CountdownDisplayOutbox displays() {
+        return scheduler.displays();
+    }
+
+    /**
+     * Pauses the countdown with the given ID. The countdown keeps its timer and its place in the plan,
+     * but its ticker stays silent and its phase does not run down until it is {@link #resume resumed}.
+     *
+     * <p>This and the other controls below are applied at the start of the next tick of the countdown's
+     * driver and publish their event from there. Members of a group follow the group's timer and are
+     * controlled through their {@link CountdownGroup} instead.</p>
+     *
+     * @param countdownId the unique identifier of the countdown task
+     * @return true if the pause was queued; false if no such countdown runs a timer of its own
+     */
+    public boolean pause(final String countdownId) {
+        return control.pause(countdownId);
+    }
+
+    /**
+     * Resumes a paused countdown from where it was paused.
+     *
+     * @param countdownId the unique identifier of the countdown task
+     * @return true if the resume was queued; false if no such countdown runs a timer of its own
+     */
+    public boolean resume(final String countdownId) {
+        return control.resume(countdownId);
+    }
+
+    /**
+     * Moves the end of the current phase of a countdown, paused or not. A negative amount shortens the
+     * phase, which always keeps at least one tick; use {@link #skipPhase} to end it right away.
+     *
+     * @param countdownId the unique identifier of the countdown task
+     * @param amount the time to add to the current phase, rounded toward zero to whole ticks
+     * @return true if the extension was queued; false if no such countdown runs a timer of its own
+     */
+    public boolean extend(final String countdownId, final Duration amount) {
+        return control.extend(countdownId, amount.toNanos() / CountdownTimePolicy.NANOS_PER_TICK);
+    }
+
+    /**
+     * Ends the current phase of a countdown, entering the next phase or completing the countdown if it
+     * was running its last one.
+     *
+     * @param countdownId the unique identifier of the countdown task
+     * @return true if the skip was queued; false if no such countdown runs a timer of its own
+     */
+    public boolean skipPhase(final String countdownId) {
+        return control.skipPhase(countdownId);
+    }
+
+    /**
+     * Resumes the countdowns persisted by the previous run, off the calling thread.
+     *
+     * <p>Each recovered countdown continues from the phase it was in, with the time left until its
+     * stored deadline; time spent while the server was down counts as elapsed. The recovery resolves
+     * the phases and callbacks of every countdown, since those cannot be persisted. Countdowns it does
+     * not bind, or binds to a different number of phases than were recorded, are dropped. Call this
+     * once, right after the timer is created: the journal only starts writing once it has run.</p>
+     *
+     * @param recovery the resolver of the phases and callbacks of recovered countdowns
+     * @return a future completed with the number of resumed countdowns
+     */
+    public CompletableFuture<Integer> recover(final CountdownRecovery recovery) {
+        return CompletableFuture.supplyAsync(() -> {
+            int resumed = 0;
+            for (final CountdownRecord record : journal.recover()) {
+                final CountdownBinding binding = recovery.bind(record.countdownId());
+                if (binding == null || binding.plan().size() != record.phaseTicks().length) {
+                    continue;
+                }
+
+                final long[] phaseTicks = record.phaseTicks();
+                final int phase = Math.max(record.phase(), 0);
+                final long ticks = phase < phaseTicks.length ? phaseTicks[phase] : 0L;
+                final CountdownTask task = new CountdownDispatcher(scheduler, tasks, journal, binding.onComplete(),
+                    binding.onCancel())
+                    .resumePhasedCountdown(record.countdownId(), binding.plan().withTicks(phaseTicks, phase), phase, ticks);
+                if (task != null) {
+                    resumed++;
+                }
+            }
+
+            journal.snapshot();
+            return resumed;
+        });
+    }
+
+    /**
+     * Cancels every running countdown and stops the tick driver, releasing all scheduled timers.
+     * Intended to be called when the owning plugin is disabled. The journal is closed first, so
+     * persisted countdowns are not recorded as cancelled and resume on the next start. Blocking
+     * callbacks already handed off, including those of the cancellations, get five seconds to finish.
+     */
+    public void shutdown() {
+        journal.close();
+        groups.values().forEach(CountdownGroup::cancelAll);
+        control.cancelAllCountdowns();
+        cooldowns.clear();
+        scheduler.shutdown();
+        if (!callbacks.shutdown(5_000L)) {
+            scheduler.logger().warning(callbacks.pending() + " blocking countdown callbacks did not finish on shutdown");
+        }
+    }
+
+    /**
+     * Scans the engine for timers without a registered countdown and for registered countdowns that already ended.
+     *
+     * @return a future completed with the leak report once the tick driver has scanned its timers
+     */
+    public CompletableFuture<CountdownLeakReport> diagnoseLeaks() {
+        return scheduler.timerOwners().thenApply(owners -> {
+            final Set<String> orphaned = new HashSet<>();
+            for (final String owner : owners) {
+                if (!tasks.contains(owner) && !groups.containsKey(owner)) {
+                    orphaned.add(owner);
+                }
+            }
+
+            final Set<String> stale = new HashSet<>();
+            tasks.forEach((id, task) -> {
+                if (task.future().isDone()) {
+                    stale.add(id);
+                }
+            });
+
+            return new CountdownLeakReport(tasks.size(), owners.size(), orphaned, stale);
+        });
+    }
+
+    /**
+     * Returns the hot-path metrics of the engine. Recording is off until enabled on the returned metrics,
+     * which can also be exposed over JMX with {@link CountdownMetrics#registerMBean(String)}.
+     *
+     * @return the engine metrics
+     */
+    public CountdownMetrics metrics() {
+        return scheduler.metrics();
+    }
+
+    /**
+     * Reports the load of every shard, so the shard count can be sized for the expected number of countdowns.
+     *
+     * @return one load entry per shard
+     */
+    public List<CountdownShardLoad> shardLoads() {
+        final List<CountdownShardLoad> loads = new ArrayList<>(tasks.shardCount());
+        for (int shard = 0; shard < tasks.shardCount(); shard++) {
+            loads.add(new CountdownShardLoad(shard, tasks.size(shard), scheduler.liveTimers(shard), scheduler.lastTickNanos(shard)));
+        }
+
+        return loads;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,342 @@
+package dev.nautchkafe.countdown;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A hierarchical timing wheel holding every scheduled countdown entry.
+ *
+ * <p>The wheel is made of {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots each, covering
+ * {@code 2^24} ticks (roughly nine days); anything further away waits in an overflow slot.
+ * Entries are bucketed by their deadline and cascaded down a level when their bucket comes due,
+ * so each {@link #advance()} costs only the work of the entries that expire on that tick.</p>
+ *
+ * <p>{@link #advance()} must be called by a single driver thread. Scheduling, cancelling and executing
+ * commands are safe from any thread; all three are queued and applied by the driver at the start of the
+ * next tick. Commands run after the queued schedules and cancellations, and may suspend, resume or move
+ * entries.</p>
+ */
+final class CountdownTimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS;
+
+    private final Logger logger;
+    private final CountdownWheelEntry[][] slots = new CountdownWheelEntry[LEVELS + 1][];
+    private final Queue<CountdownWheelEntry> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<CountdownWheelEntry> cancelled = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+    private long backlog;
+    private volatile int size;
+
+    /**
+     * Constructs an empty timing wheel.
+     *
+     * @param logger the logger used to report failing entry tasks
+     */
+    CountdownTimingWheel(final Logger logger) {
+        this.logger = logger;
+
+        for (int level = 0; level < LEVELS; level++) {
+            slots[level] = new CountdownWheelEntry[WHEEL_SIZE];
+        }
+
+        slots[OVERFLOW] = new CountdownWheelEntry[1];
+    }
+
+    /**
+     * Schedules a task on the wheel.
+     *
+     * @param owner  the countdown ID owning the entry, or {@code null} for engine tasks
+     * @param task   the task to run when the entry expires
+     * @param delay  the delay in ticks before the first execution
+     * @param period the period in ticks between executions, or {@code 0} to run only once
+     * @return the handle of the scheduled entry
+     */
+    CountdownWheelEntry schedule(final String owner, final CountdownWheelTask task, final long delay, final long period) {
+        final CountdownWheelEntry entry = new CountdownWheelEntry(this, owner, task, delay, period);
+        pending.add(entry);
+        return entry;
+    }
+
+    /**
+     * Requests the removal of the given entry from the wheel.
+     *
+     * @param entry the entry that has been cancelled
+     */
+    void cancel(final CountdownWheelEntry entry) {
+        cancelled.add(entry);
+    }
+
+    /**
+     * Queues a command to run on the driver thread at the start of the next tick.
+     *
+     * @param command the command to run
+     */
+    void execute(final Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Unlinks a scheduled entry without cancelling it, so it can later be {@link #resume resumed}.
+     * Must be called by the driver thread.
+     *
+     * @param entry the entry to suspend
+     * @return the ticks that were left until the entry's deadline, or {@code -1} if it was not scheduled
+     */
+    long suspend(final CountdownWheelEntry entry) {
+        if (entry.level < 0 || entry.isCancelled()) {
+            return -1L;
+        }
+
+        unlink(entry);
+        size--;
+        return entry.deadline - currentTick;
+    }
+
+    /**
+     * Links a suspended entry back into the wheel. Must be called by the driver thread.
+     *
+     * @param entry the suspended entry
+     * @param delay the delay in ticks before its next execution
+     */
+    void resume(final CountdownWheelEntry entry, final long delay) {
+        if (entry.level >= 0 || entry.isCancelled()) {
+            return;
+        }
+
+        entry.deadline = currentTick + Math.max(1L, delay);
+        place(entry);
+        size++;
+    }
+
+    /**
+     * Returns the number of entries currently linked into the wheel.
+     *
+     * @return the live entry count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visits every entry currently linked into the wheel. Must be called by the driver thread.
+     *
+     * @param visitor the visitor receiving each live entry
+     */
+    void forEach(final Consumer<CountdownWheelEntry> visitor) {
+        for (final CountdownWheelEntry[] level : slots) {
+            for (final CountdownWheelEntry head : level) {
+                for (CountdownWheelEntry entry = head; entry != null; entry = entry.next) {
+                    visitor.accept(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels and unlinks every pending and scheduled entry. Must be called by the driver thread,
+     * or by the thread that has stopped it.
+     */
+    void clear() {
+        CountdownWheelEntry entry;
+        while ((entry = pending.poll()) != null) {
+            entry.cancel();
+        }
+
+        forEach(CountdownWheelEntry::cancel);
+        for (int level = 0; level < slots.length; level++) {
+            for (int slot = 0; slot < slots[level].length; slot++) {
+                detach(level, slot);
+            }
+        }
+
+        cancelled.clear();
+        commands.clear();
+        size = 0;
+    }
+
+    /**
+     * Advances the wheel by one tick, running every entry whose deadline has been reached.
+     */
+    void advance() {
+        advance(0L);
+    }
+
+    /**
+     * Advances the wheel by one tick while the driver is catching up, running every entry whose deadline
+     * has been reached. Entries can read the backlog to coalesce work that later ticks of the catch-up supersede.
+     *
+     * @param backlog the number of ticks still due after this one
+     */
+    void advance(final long backlog) {
+        this.backlog = backlog;
+        drainPending();
+        drainCancelled();
+        drainCommands();
+
+        currentTick++;
+        cascade();
+        expire();
+    }
+
+    /**
+     * Returns the number of ticks still due after the tick being processed.
+     * Only meaningful on the driver thread.
+     *
+     * @return the backlog of the current tick
+     */
+    long backlog() {
+        return backlog;
+    }
+
+    private void drainPending() {
+        CountdownWheelEntry entry;
+        while ((entry = pending.poll()) != null) {
+            if (entry.isCancelled()) {
+                continue;
+            }
+
+            entry.deadline = currentTick + Math.max(1L, entry.delay());
+            place(entry);
+            size++;
+        }
+    }
+
+    private void drainCancelled() {
+        CountdownWheelEntry entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.level >= 0) {
+                unlink(entry);
+                size--;
+            }
+        }
+    }
+
+    private void drainCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (final RuntimeException exception) {
+                logger.log(Level.WARNING, "Countdown wheel command failed", exception);
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level <= LEVELS; level++) {
+            final int shift = WHEEL_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+
+            CountdownWheelEntry entry = detach(level, slotOf(level, currentTick));
+            while (entry != null) {
+                final CountdownWheelEntry next = entry.next;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void expire() {
+        CountdownWheelEntry entry = detach(0, slotOf(0, currentTick));
+        while (entry != null) {
+            final CountdownWheelEntry next = entry.next;
+            entry.next = null;
+            run(entry);
+            entry = next;
+        }
+    }
+
+    private void run(final CountdownWheelEntry entry) {
+        if (entry.isCancelled()) {
+            size--;
+            return;
+        }
+
+        try {
+            entry.task().run(entry);
+        } catch (final RuntimeException exception) {
+            logger.log(Level.WARNING, "Countdown wheel task failed", exception);
+        }
+
+        if (entry.period() > 0 && !entry.isCancelled()) {
+            entry.deadline = currentTick + entry.period();
+            place(entry);
+            return;
+        }
+
+        size--;
+    }
+
+    private void place(final CountdownWheelEntry entry) {
+        final long delta = entry.deadline - currentTick;
+
+        int level = 0;
+        while (level < LEVELS && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+
+        link(entry, level, slotOf(level, entry.deadline));
+    }
+
+    private static int slotOf(final int level, final long tick) {
+        if (level == OVERFLOW) {
+            return 0;
+        }
+
+        return (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    private void link(final CountdownWheelEntry entry, final int level, final int slot) {
+        final CountdownWheelEntry head = slots[level][slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = head;
+
+        if (head != null) {
+            head.prev = entry;
+        }
+
+        slots[level][slot] = entry;
+    }
+
+    private void unlink(final CountdownWheelEntry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+
+        entry.level = -1;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private CountdownWheelEntry detach(final int level, final int slot) {
+        final CountdownWheelEntry head = slots[level][slot];
+        slots[level][slot] = null;
+
+        for (CountdownWheelEntry entry = head; entry != null; entry = entry.next) {
+            entry.level = -1;
+            entry.prev = null;
+        }
+
+        return head;
+    }
+}
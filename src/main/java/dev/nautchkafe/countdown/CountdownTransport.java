@@ -0,0 +1,35 @@
+package dev.nautchkafe.countdown;
+
+import java.util.function.Consumer;
+
+/**
+ * The channel a {@link CountdownReplicator} exchanges countdown state with the other servers of a network over.
+ *
+ * <p>Implementations only have to broadcast every published message to the other nodes, for example over
+ * a Redis channel or the proxy's plugin messaging; {@link CountdownReplicaMessage#encode()} gives a compact
+ * binary form for transports that carry bytes. Messages are sent on lifecycle changes only, never per tick,
+ * and each one carries absolute deadlines, so a late or repeated message is harmless.
+ * {@link LoopbackCountdownTransport} connects nodes running in the same JVM.</p>
+ */
+interface CountdownTransport {
+
+    /**
+     * Sends a message to every other node. Implementations must not deliver it back to this node.
+     *
+     * @param message the message to send
+     */
+    void publish(final CountdownReplicaMessage message);
+
+    /**
+     * Registers the listener receiving the messages published by the other nodes. The listener may be
+     * invoked on any thread.
+     *
+     * @param listener the listener receiving each message
+     */
+    void subscribe(final Consumer<CountdownReplicaMessage> listener);
+
+    /**
+     * Stops delivering messages to this node's listeners and releases the channel.
+     */
+    void close();
+}
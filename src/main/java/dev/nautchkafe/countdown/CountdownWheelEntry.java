@@ -0,0 +1,123 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * A single slot entry of the {@link CountdownTimingWheel}.
+ * Each active countdown phase is represented by one entry which is either fired once
+ * or re-armed by the wheel with its period after every execution.
+ *
+ * <p>The linkage fields are owned by the thread driving the wheel and must not be touched
+ * from anywhere else. Cancellation and {@link #execute(Runnable)} are the only operations safe to
+ * call from any thread.</p>
+ */
+final class CountdownWheelEntry {
+
+    private final CountdownTimingWheel wheel;
+    private final String owner;
+    private final CountdownWheelTask task;
+    private final long delay;
+    private volatile boolean cancelled;
+    private long period;
+
+    long deadline;
+    int level = -1;
+    int slot;
+    CountdownWheelEntry prev;
+    CountdownWheelEntry next;
+
+    /**
+     * Constructs a wheel entry.
+     *
+     * @param wheel  the wheel owning this entry
+     * @param owner  the countdown ID owning this entry, or {@code null} for engine tasks
+     * @param task   the task executed when the entry expires
+     * @param delay  the initial delay in ticks
+     * @param period the period in ticks between executions, or {@code 0} for a one-shot entry
+     */
+    CountdownWheelEntry(final CountdownTimingWheel wheel, final String owner, final CountdownWheelTask task,
+            final long delay, final long period) {
+        this.wheel = wheel;
+        this.owner = owner;
+        this.task = task;
+        this.delay = delay;
+        this.period = period;
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    CountdownWheelTask task() {
+        return task;
+    }
+
+    long delay() {
+        return delay;
+    }
+
+    long period() {
+        return period;
+    }
+
+    /**
+     * Changes the delay before the next execution of this entry.
+     * Only valid from within the entry's own task, which runs on the driver thread.
+     *
+     * @param period the delay in ticks before the next execution, or {@code 0} to stop re-arming
+     */
+    void reschedule(final long period) {
+        this.period = period;
+    }
+
+    /**
+     * Returns the number of ticks the driver still has to catch up after the one running this entry.
+     * Only valid from within the entry's own task.
+     *
+     * @return the backlog of the current tick
+     */
+    long backlog() {
+        return wheel.backlog();
+    }
+
+    /**
+     * Runs a command on the thread driving this entry's wheel, at the start of its next tick.
+     *
+     * @param command the command to run
+     */
+    void execute(final Runnable command) {
+        wheel.execute(command);
+    }
+
+    /**
+     * Takes this entry off the wheel without cancelling it. Only valid on the driver thread.
+     *
+     * @return the ticks that were left until its deadline, or {@code -1} if it was not scheduled
+     */
+    long suspend() {
+        return wheel.suspend(this);
+    }
+
+    /**
+     * Puts a suspended entry back on the wheel. Only valid on the driver thread.
+     *
+     * @param delay the delay in ticks before its next execution
+     */
+    void resume(final long delay) {
+        wheel.resume(this, delay);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels this entry. The entry is unlinked from the wheel on the next tick.
+     */
+    void cancel() {
+        if (cancelled) {
+            return;
+        }
+
+        cancelled = true;
+        wheel.cancel(this);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.nautchkafe.countdown;
+
+/**
+ * A functional interface representing work executed by a {@link CountdownTimingWheel} entry.
+ * The task receives its own entry, allowing it to reschedule or cancel itself from the driver thread.
+ */
+@FunctionalInterface
+interface CountdownWheelTask {
+
+    /**
+     * Runs the task on the driver thread.
+     *
+     * @param entry the wheel entry currently executing this task
+     */
+    void run(final CountdownWheelEntry entry);
+}
@@ -0,0 +1,94 @@
+package dev.nautchkafe.countdown;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An in-process network of {@link CountdownTransport} endpoints, used to run several simulated servers
+ * in one JVM.
+ *
+ * <p>Every {@link #endpoint()} plays one node. A message published by an endpoint is delivered, on the
+ * publishing thread and before {@code publish} returns, to the listeners of every other open endpoint.
+ * The traffic is counted, so tests can check that replication costs messages per lifecycle change
+ * rather than per tick.</p>
+ */
+final class LoopbackCountdownTransport {
+
+    private final List<Endpoint> endpoints = new CopyOnWriteArrayList<>();
+    private long messages;
+    private long bytes;
+
+    /**
+     * Opens a new endpoint on this network.
+     *
+     * @return the transport of one node
+     */
+    CountdownTransport endpoint() {
+        final Endpoint endpoint = new Endpoint();
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    /**
+     * Returns the number of messages published on this network so far.
+     *
+     * @return the message count
+     */
+    synchronized long messages() {
+        return messages;
+    }
+
+    /**
+     * Returns the encoded size of the messages published on this network so far.
+     *
+     * @return the byte count
+     */
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    private void broadcast(final Endpoint sender, final CountdownReplicaMessage message) {
+        final int size = message.encode().length;
+        synchronized (this) {
+            messages++;
+            bytes += size;
+        }
+
+        for (final Endpoint endpoint : endpoints) {
+            if (endpoint != sender) {
+                endpoint.deliver(message);
+            }
+        }
+    }
+
+    /**
+     * One node's view of the network.
+     */
+    private final class Endpoint implements CountdownTransport {
+
+        private final List<Consumer<CountdownReplicaMessage>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(final CountdownReplicaMessage message) {
+            broadcast(this, message);
+        }
+
+        @Override
+        public void subscribe(final Consumer<CountdownReplicaMessage> listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void close() {
+            endpoints.remove(this);
+            listeners.clear();
+        }
+
+        private void deliver(final CountdownReplicaMessage message) {
+            for (final Consumer<CountdownReplicaMessage> listener : listeners) {
+                listener.accept(message);
+            }
+        }
+    }
+}
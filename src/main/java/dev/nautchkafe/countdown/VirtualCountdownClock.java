@@ -0,0 +1,102 @@
+package dev.nautchkafe.countdown;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * A deterministic {@link CountdownClock} whose time only moves when {@link #advance(long)} is called.
+ *
+ * <p>The thread calling {@link #advance(long)} plays both the tick drivers and the main thread:
+ * each virtual tick first runs every tick callback, then drains the main-thread queue. Nothing waits
+ * on wall-clock time, so millions of ticks can be simulated in seconds and the results are reproducible.</p>
+ */
+final class VirtualCountdownClock implements CountdownClock {
+
+    private static final long NANOS_PER_TICK = 50_000_000L;
+
+    private Runnable[] ticks = new Runnable[0];
+    private final Queue<Runnable> mainThread = new ArrayDeque<>();
+    private long currentTick;
+    private boolean stopped;
+
+    @Override
+    public synchronized void onTick(final Runnable tick) {
+        ticks = Arrays.copyOf(ticks, ticks.length + 1);
+        ticks[ticks.length - 1] = tick;
+    }
+
+    @Override
+    public synchronized void runOnMainThread(final Runnable task) {
+        mainThread.add(task);
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return currentTick * NANOS_PER_TICK;
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+        ticks = new Runnable[0];
+    }
+
+    /**
+     * Returns the number of ticks simulated so far.
+     *
+     * @return the current virtual tick
+     */
+    synchronized long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Simulates the given number of ticks on the calling thread.
+     *
+     * @param count the number of ticks to simulate
+     */
+    void advance(final long count) {
+        for (long tick = 0; tick < count; tick++) {
+            final Runnable[] callbacks;
+            synchronized (this) {
+                if (stopped) {
+                    return;
+                }
+
+                currentTick++;
+                callbacks = ticks;
+            }
+
+            for (final Runnable callback : callbacks) {
+                callback.run();
+            }
+
+            runMainThreadTasks();
+        }
+    }
+
+    /**
+     * Moves time forward by the given number of ticks without delivering them, as a lag spike
+     * on a live server does.
+     *
+     * @param count the number of ticks to skip
+     */
+    synchronized void stall(final long count) {
+        currentTick += count;
+    }
+
+    /**
+     * Runs every task queued for the main thread, including tasks queued while draining.
+     */
+    void runMainThreadTasks() {
+        Runnable task;
+        while ((task = pollMainThread()) != null) {
+            task.run();
+        }
+    }
+
+    private synchronized Runnable pollMainThread() {
+        return mainThread.poll();
+    }
+}
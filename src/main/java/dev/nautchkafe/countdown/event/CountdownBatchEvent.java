@@ -0,0 +1,38 @@
+package dev.nautchkafe.countdown.event;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.List;
+
+/**
+ * Triggered once per delivery batch, after every lifecycle event of that batch has been triggered.
+ * It lets listeners handle all countdown transitions collected during a tick at once.
+ */
+public final class CountdownBatchEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final List<Event> events;
+
+    public CountdownBatchEvent(final List<Event> events) {
+        this(events, false);
+    }
+
+    public CountdownBatchEvent(final List<Event> events, final boolean async) {
+        super(async);
+        this.events = List.copyOf(events);
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
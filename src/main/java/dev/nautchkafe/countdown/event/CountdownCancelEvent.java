@@ -14,6 +14,11 @@ public final class CountdownCancelEvent extends Event implements Cancellable {
     private boolean cancelled;
 
     public CountdownCancelEvent(final String countdownId) {
+        this(countdownId, false);
+    }
+
+    public CountdownCancelEvent(final String countdownId, final boolean async) {
+        super(async);
         this.countdownId = countdownId;
         this.cancelled = false;
     }
@@ -14,6 +14,11 @@ public final class CountdownCloseEvent extends Event implements Cancellable {
     private boolean cancelled;
 
     public CountdownCloseEvent(final String countdownId) {
+        this(countdownId, false);
+    }
+
+    public CountdownCloseEvent(final String countdownId, final boolean async) {
+        super(async);
         this.countdownId = countdownId;
         this.cancelled = false; 
     }
@@ -1,6 +1,10 @@
 package dev.nautchkafe.countdown.event;
 
 import org.bukkit.Server;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+
+import java.util.function.Consumer;
 
 /**
  * The {@code CountdownEventTrigger} class provides utility methods to trigger events within a server.
@@ -45,7 +49,7 @@ public final class CountdownEventTrigger {
      * @param event The cancellable event to be triggered.
      * @return The event object, whether or not it was canceled.
      */
-    public static <TYPE extends Event & Cancellable> TYPE triggerEvent(final Server server, final TYPE event) {
+    public static <TYPE extends Event & Cancellable> TYPE triggerCancellableEvent(final Server server, final TYPE event) {
         server.getPluginManager().callEvent(event);
 
         if (event.isCancelled()) {
@@ -0,0 +1,43 @@
+package dev.nautchkafe.countdown.event;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.time.Duration;
+
+/**
+ * Triggered when the current phase of a countdown is extended, or shortened by a negative amount.
+ */
+public final class CountdownExtendEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final String countdownId;
+    private final Duration amount;
+
+    public CountdownExtendEvent(final String countdownId, final Duration amount) {
+        this(countdownId, amount, false);
+    }
+
+    public CountdownExtendEvent(final String countdownId, final Duration amount, final boolean async) {
+        super(async);
+        this.countdownId = countdownId;
+        this.amount = amount;
+    }
+
+    public String getCountdownId() {
+        return countdownId;
+    }
+
+    public Duration getAmount() {
+        return amount;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
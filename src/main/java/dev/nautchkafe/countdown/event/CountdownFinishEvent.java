@@ -17,6 +17,11 @@ public final class CountdownFinishEvent extends Event implements Cancellable {
     private boolean cancelled;
 
     public CountdownFinishEvent(final String countdownId, final Instant finishTime) {
+        this(countdownId, finishTime, false);
+    }
+
+    public CountdownFinishEvent(final String countdownId, final Instant finishTime, final boolean async) {
+        super(async);
         this.countdownId = countdownId;
         this.finishTime = finishTime;
         this.cancelled = false;
@@ -0,0 +1,43 @@
+package dev.nautchkafe.countdown.event;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.time.Duration;
+
+/**
+ * Triggered when a running countdown is paused, with the time that was left in its current phase.
+ */
+public final class CountdownPauseEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final String countdownId;
+    private final Duration remaining;
+
+    public CountdownPauseEvent(final String countdownId, final Duration remaining) {
+        this(countdownId, remaining, false);
+    }
+
+    public CountdownPauseEvent(final String countdownId, final Duration remaining, final boolean async) {
+        super(async);
+        this.countdownId = countdownId;
+        this.remaining = remaining;
+    }
+
+    public String getCountdownId() {
+        return countdownId;
+    }
+
+    public Duration getRemaining() {
+        return remaining;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
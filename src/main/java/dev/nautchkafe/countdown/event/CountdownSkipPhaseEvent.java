@@ -0,0 +1,41 @@
+package dev.nautchkafe.countdown.event;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Triggered when the current phase of a countdown is skipped, with the index of the skipped phase.
+ */
+public final class CountdownSkipPhaseEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final String countdownId;
+    private final int phase;
+
+    public CountdownSkipPhaseEvent(final String countdownId, final int phase) {
+        this(countdownId, phase, false);
+    }
+
+    public CountdownSkipPhaseEvent(final String countdownId, final int phase, final boolean async) {
+        super(async);
+        this.countdownId = countdownId;
+        this.phase = phase;
+    }
+
+    public String getCountdownId() {
+        return countdownId;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
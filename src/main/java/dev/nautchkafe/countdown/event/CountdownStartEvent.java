@@ -15,6 +15,11 @@ public final class CountdownStartEvent extends Event implements Cancellable {
     private boolean cancelled;
 
     public CountdownStartEvent(final String countdownId) {
+        this(countdownId, false);
+    }
+
+    public CountdownStartEvent(final String countdownId, final boolean async) {
+        super(async);
         this.countdownId = countdownId;
         this.cancelled = false;
     }
@@ -0,0 +1,58 @@
+package dev.nautchkafe.countdown
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.logging.Logger
+
+class CountdownCallbackExecutorTest {
+
+    private val guard = CountdownCallbackGuard(Duration.ofMillis(1), 2, 1, 1, Logger.getAnonymousLogger())
+
+    @Test
+    fun `test blocking callbacks run on virtual threads within their limits`() {
+        val executor = CountdownCallbackExecutor(1, 1, Logger.getAnonymousLogger())
+        val release = CountDownLatch(1)
+        val thread = CompletableFuture<Thread>()
+
+        val completion = executor.completion { _, _ -> thread.complete(Thread.currentThread()); release.await() }
+        guard.invoke("saving") { completion.accept("saving", null) }
+        assertTrue(executor.submit("queued") { })
+        assertFalse(executor.submit("rejected") { })
+
+        assertTrue(thread.get(5, TimeUnit.SECONDS).isVirtual)
+        release.countDown()
+        assertTrue(executor.shutdown(5_000))
+        assertEquals(1L, executor.rejected())
+        assertFalse(guard.isQuarantined("saving"))
+    }
+
+    @Test
+    fun `test blocking countdowns hand their callbacks to the timer's executor`() {
+        val clock = VirtualCountdownClock()
+        val executor = CountdownCallbackExecutor(1, 8, Logger.getAnonymousLogger())
+        val countdown = CountdownTimer(CountdownScheduler(clock, {}, Logger.getAnonymousLogger(), 1, false),
+            CountdownJournal.none(), executor)
+        val plan = countdown.plan("short") { listOf(CountdownPhase(Duration.ofSeconds(1)) { _, _, _ -> }) }
+        val completed = CompletableFuture<Thread>()
+        val cancelled = CompletableFuture<Thread>()
+
+        countdown.startPhasedCountdown("saved", plan, setOf(), CountdownCallbackMode.BLOCKING,
+            { _, _ -> completed.complete(Thread.currentThread()) }, { })
+        countdown.startPhasedCountdown("dropped", plan, setOf(), CountdownCallbackMode.BLOCKING,
+            { _, _ -> }, { cancelled.complete(Thread.currentThread()) })
+        countdown.cancel("dropped")
+        clock.advance(30)
+
+        assertTrue(completed.get(5, TimeUnit.SECONDS).isVirtual)
+        assertTrue(cancelled.get(5, TimeUnit.SECONDS).isVirtual)
+
+        countdown.shutdown()
+        assertFalse(executor.submit("late") { })
+    }
+}
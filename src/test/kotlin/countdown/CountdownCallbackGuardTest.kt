@@ -0,0 +1,56 @@
+package dev.nautchkafe.countdown
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.logging.Logger
+
+class CountdownCallbackGuardTest {
+
+    private val guard = CountdownCallbackGuard(Duration.ofMillis(1), 2, 1, 1, Logger.getAnonymousLogger())
+
+    @Test
+    fun `test slow callbacks are moved off the calling thread after repeated violations`() {
+        repeat(2) { guard.invoke("slow") { Thread.sleep(5) } }
+        assertTrue(guard.isQuarantined("slow"))
+
+        val thread = CompletableFuture<String>()
+        assertEquals(-1L, guard.invoke("slow") { thread.complete(Thread.currentThread().name) })
+        assertTrue(thread.get(5, TimeUnit.SECONDS).startsWith("countdown-quarantine"))
+
+        assertTrue(guard.invoke("fast") { } >= 0)
+        assertFalse(guard.isQuarantined("fast"))
+    }
+
+    @Test
+    fun `test quarantined callbacks overflowing the queue are disabled`() {
+        repeat(2) { guard.invoke("blocking") { Thread.sleep(5) } }
+
+        val release = CountDownLatch(1)
+        val running = CountDownLatch(1)
+        guard.invoke("blocking") { running.countDown(); release.await() }
+        running.await(5, TimeUnit.SECONDS)
+
+        guard.invoke("blocking") { }
+        guard.invoke("blocking") { }
+        release.countDown()
+
+        assertTrue(guard.isDisabled("blocking"))
+        guard.forget("blocking")
+        assertFalse(guard.isQuarantined("blocking"))
+    }
+
+    @Test
+    fun `test failing callbacks are contained and counted as strikes`() {
+        assertTrue(guard.invoke("failing") { throw IllegalStateException("callback failed") } >= 0)
+        assertFalse(guard.isQuarantined("failing"))
+
+        guard.invoke("failing") { throw IllegalStateException("callback failed") }
+        assertTrue(guard.isQuarantined("failing"))
+    }
+}
@@ -0,0 +1,82 @@
+package dev.nautchkafe.countdown
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.util.logging.Logger
+
+class CountdownFileJournalTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    private var now = 1_000_000L
+
+    private val wallClock = object : Clock() {
+        override fun getZone(): ZoneId = ZoneOffset.UTC
+        override fun withZone(zone: ZoneId): Clock = this
+        override fun instant(): Instant = Instant.ofEpochMilli(now)
+    }
+
+    private val phases = listOf(
+        CountdownPhase(Duration.ofSeconds(10)) { _, _, _ -> },
+        CountdownPhase(Duration.ofSeconds(100)) { _, _, _ -> }
+    )
+
+    private fun engine(clock: VirtualCountdownClock): Pair<CountdownTimer, CountdownFileJournal> {
+        val journal = CountdownFileJournal(directory, wallClock, Duration.ofMinutes(1), Logger.getAnonymousLogger())
+        val scheduler = CountdownScheduler(clock, {}, Logger.getAnonymousLogger(), 2, false)
+        return CountdownTimer(scheduler, journal) to journal
+    }
+
+    @Test
+    fun `test countdowns resume from their stored deadline after a crash`() {
+        val clock = VirtualCountdownClock()
+        val (timer, journal) = engine(clock)
+        timer.recover { null }.join()
+
+        timer.startPhasedCountdown("resumed", phases, { _, _ -> }, { })
+        timer.startPhasedCountdown("cancelled", phases, { _, _ -> }, { })
+        timer.cancel("cancelled")
+
+        now += 10_000
+        clock.advance(200)
+        now += 5_000
+        clock.advance(100)
+        journal.flush()
+
+        now += 20_000
+        val secondsLeft = mutableListOf<Long>()
+        val binding = CountdownBinding(listOf(
+            CountdownPhase(Duration.ZERO) { _, _, _ -> },
+            CountdownPhase(Duration.ZERO, { _, seconds, _ -> secondsLeft += seconds }, CountdownCadence.everySecond())
+        ), { _, _ -> }, { })
+
+        val restarted = VirtualCountdownClock()
+        val (recovered, _) = engine(restarted)
+
+        assertEquals(1, recovered.recover { id -> binding.takeIf { id == "resumed" } }.join())
+        restarted.advance(20)
+        assertEquals(listOf(74L), secondsLeft)
+    }
+
+    @Test
+    fun `test shutdown keeps countdowns for the next run`() {
+        val (timer, _) = engine(VirtualCountdownClock())
+        timer.recover { null }.join()
+        timer.startPhasedCountdown("kept", phases, { _, _ -> }, { })
+        timer.shutdown()
+
+        val recoveredIds = mutableListOf<String>()
+        val (recovered, _) = engine(VirtualCountdownClock())
+        recovered.recover { id -> recoveredIds += id; null }.join()
+
+        assertEquals(listOf("kept"), recoveredIds)
+    }
+}
@@ -0,0 +1,127 @@
+package dev.nautchkafe.countdown
+
+import dev.nautchkafe.countdown.event.CountdownCancelEvent
+import dev.nautchkafe.countdown.event.CountdownCloseEvent
+import dev.nautchkafe.countdown.event.CountdownStartEvent
+import org.bukkit.Server
+import org.bukkit.event.Event
+import org.bukkit.event.EventPriority
+import org.bukkit.event.HandlerList
+import org.bukkit.event.Listener
+import org.bukkit.plugin.Plugin
+import org.bukkit.plugin.PluginManager
+import org.bukkit.plugin.RegisteredListener
+import org.bukkit.scheduler.BukkitScheduler
+import org.bukkit.scheduler.BukkitTask
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.time.Duration
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.logging.Logger
+
+class CountdownLifecycleStressTest {
+
+    private val events = ConcurrentLinkedQueue<Event>()
+    private lateinit var plugin: Plugin
+    private lateinit var timer: CountdownTimer
+
+    @BeforeEach
+    fun setUp() {
+        val bukkitScheduler = mock<BukkitScheduler> {
+            on { runTaskTimerAsynchronously(any<Plugin>(), any<Runnable>(), any(), any()) } doReturn mock<BukkitTask>()
+        }
+        val pluginManager = mock<PluginManager> {
+            on { callEvent(any()) } doAnswer { events.add(it.getArgument(0)); Unit }
+        }
+        val server = mock<Server> {
+            on { scheduler } doReturn bukkitScheduler
+            on { this.pluginManager } doReturn pluginManager
+        }
+        plugin = mock<Plugin> {
+            on { logger } doReturn Logger.getAnonymousLogger()
+        }
+
+        listOf(CountdownStartEvent.getHandlerList(), CountdownCancelEvent.getHandlerList(), CountdownCloseEvent.getHandlerList())
+            .forEach(::listen)
+        timer = CountdownTimer(server, plugin, 4)
+    }
+
+    @AfterEach
+    fun tearDown() {
+        HandlerList.unregisterAll(plugin)
+    }
+
+    @Test
+    fun `test events without listeners are neither built nor triggered`() {
+        HandlerList.unregisterAll(plugin)
+        listen(CountdownCloseEvent.getHandlerList())
+        val phase = CountdownPhase(Duration.ofSeconds(5)) { _, _, _ -> }
+
+        timer.startPhasedCountdown("countdown", listOf(phase), { _, _ -> }, { })
+        timer.cancel("countdown")
+        timer.shutdown()
+
+        assertEquals(listOf(CountdownCloseEvent::class.java), events.map { it.javaClass })
+    }
+
+    @Test
+    fun `test racing starts and cancels never overlap lifecycles of the same id`() {
+        val rounds = 500
+        val contenders = 8
+        val phase = CountdownPhase(Duration.ofSeconds(5)) { _, _, _ -> }
+        val cancelCallbacks = AtomicInteger()
+        val pool = Executors.newFixedThreadPool(contenders)
+
+        repeat(rounds) { round ->
+            val id = "countdown-$round"
+            val gate = CountDownLatch(1)
+            val contenderFutures = (0 until contenders).map { index ->
+                pool.submit {
+                    gate.await()
+                    if (index % 2 == 0) {
+                        timer.startPhasedCountdown(id, listOf(phase), { _, _ -> }, { cancelCallbacks.incrementAndGet() })
+                    } else {
+                        timer.cancel(id)
+                    }
+                }
+            }
+
+            gate.countDown()
+            contenderFutures.forEach { it.get() }
+            timer.cancel(id)
+        }
+
+        pool.shutdown()
+        timer.shutdown()
+
+        val lifecycles = events.groupBy { (it as? CountdownStartEvent)?.countdownId
+            ?: (it as? CountdownCancelEvent)?.countdownId
+            ?: (it as CountdownCloseEvent).countdownId }
+
+        assertEquals(rounds, lifecycles.size)
+        assertEquals(cancelCallbacks.get(), lifecycles.values.sumOf { it.size } / 3)
+
+        lifecycles.forEach { (id, sequence) ->
+            assertTrue(sequence.isNotEmpty() && sequence.size % 3 == 0, "event count of $id")
+            sequence.chunked(3).forEach { (start, cancel, close) ->
+                assertTrue(start is CountdownStartEvent, "start of $id")
+                assertTrue(cancel is CountdownCancelEvent, "cancel of $id")
+                assertTrue(close is CountdownCloseEvent, "close of $id")
+            }
+        }
+    }
+
+    private fun listen(handlers: HandlerList) {
+        handlers.register(RegisteredListener(mock<Listener>(), { _, _ -> }, EventPriority.NORMAL, plugin, false))
+    }
+}
@@ -0,0 +1,47 @@
+package dev.nautchkafe.countdown
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.logging.Logger
+
+class CountdownMetricsTest {
+
+    @Test
+    fun `test histogram percentiles stay within the bucket precision`() {
+        val histogram = CountdownLatencyHistogram()
+        (1L..10_000L).forEach { histogram.record(it * 1_000) }
+
+        val median = histogram.valueAtPercentile(50.0)
+        assertTrue(median in 5_000_000L..5_625_000L, "median $median")
+        assertEquals(10_000_000L, histogram.valueAtPercentile(100.0))
+        assertEquals(10_000L, histogram.count())
+    }
+
+    @Test
+    fun `test engine counters follow the countdown lifecycle`() {
+        val clock = VirtualCountdownClock()
+        val timer = CountdownTimer(CountdownScheduler(clock, {}, Logger.getAnonymousLogger(), 1, false))
+        val metrics = timer.metrics()
+        metrics.isEnabled = true
+
+        repeat(10) { index ->
+            val phase = CountdownPhase(Duration.ofSeconds(2), { _, _, _ -> }, CountdownCadence.everySecond())
+            timer.startPhasedCountdown("countdown-$index", listOf(phase), { _, _ -> }, { })
+        }
+        timer.cancel("countdown-0")
+        clock.advance(1)
+
+        assertEquals(9, metrics.activeCountdowns)
+
+        clock.advance(60)
+
+        assertEquals(10L, metrics.startedTotal)
+        assertEquals(1L, metrics.cancelledTotal)
+        assertEquals(9L, metrics.finishedTotal)
+        assertEquals(18L, metrics.tickerCallbacks)
+        assertEquals(20.0, metrics.ticksPerSecond)
+        assertEquals(0L, metrics.mainThreadQueueDepth)
+    }
+}
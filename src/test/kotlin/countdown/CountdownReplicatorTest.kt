@@ -0,0 +1,131 @@
+package dev.nautchkafe.countdown
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.util.function.Consumer
+import java.util.logging.Logger
+
+class CountdownReplicatorTest {
+
+    private val network = LoopbackCountdownTransport()
+    private val nodes = mutableListOf<Node>()
+
+    private inner class Node(nodeId: String, startTick: Long, transport: CountdownTransport = network.endpoint()) {
+        val clock = VirtualCountdownClock().also { it.stall(startTick) }
+        val timer = CountdownTimer(CountdownScheduler(clock, {}, Logger.getAnonymousLogger(), 2, false))
+        val finished = mutableMapOf<String, Long>()
+        val replicator: CountdownReplicator
+
+        init {
+            timer.plan("event") {
+                listOf(
+                    CountdownPhase(Duration.ofSeconds(30), { _, _, _ -> }, CountdownCadence.everySecond()),
+                    CountdownPhase(Duration.ofSeconds(30), { _, _, _ -> }, CountdownCadence.everySecond())
+                )
+            }
+
+            val wallClock = object : Clock() {
+                override fun getZone(): ZoneId = ZoneOffset.UTC
+                override fun withZone(zone: ZoneId): Clock = this
+                override fun instant(): Instant = Instant.ofEpochMilli(clock.nanoTime() / 1_000_000)
+            }
+
+            replicator = CountdownReplicator(nodeId, timer, transport, wallClock,
+                { id, _ -> finished[id] = clock.currentTick() }, { }, Logger.getAnonymousLogger())
+            nodes.add(this)
+        }
+    }
+
+    private fun advance(ticks: Int) = repeat(ticks) { nodes.forEach { it.clock.advance(1) } }
+
+    @Test
+    fun `test nodes finish replicated countdowns on the same tick`() {
+        val first = Node("lobby-1", 1_000)
+        val second = Node("lobby-2", 1_000)
+
+        first.replicator.start("tournament", first.timer.internedPlan("event"))
+        first.replicator.start("raid", first.timer.internedPlan("event"))
+        advance(100)
+
+        second.replicator.pause("raid")
+        advance(200)
+        first.replicator.resume("raid")
+        second.replicator.extend("tournament", Duration.ofSeconds(5))
+        advance(200)
+
+        Node("lobby-3", first.clock.currentTick())
+        advance(1_500)
+
+        assertEquals(2_300L, first.finished["tournament"])
+        assertEquals(2_400L, first.finished["raid"])
+        nodes.forEach { assertEquals(first.finished, it.finished) }
+        assertTrue(network.messages() < 20)
+    }
+
+    @Test
+    fun `test concurrent changes settle on the same winner everywhere`() {
+        val network = QueuedNetwork()
+        val first = Node("lobby-1", 1_000, network.endpoint())
+        val second = Node("lobby-2", 1_000, network.endpoint())
+        network.flush()
+
+        first.replicator.start("duel", first.timer.internedPlan("event"))
+        advance(40)
+        second.replicator.start("duel", second.timer.internedPlan("event"))
+        network.flush()
+        advance(100)
+
+        first.replicator.extend("duel", Duration.ofSeconds(5))
+        second.replicator.extend("duel", Duration.ofSeconds(10))
+        network.flush()
+        advance(1_600)
+
+        assertEquals(2_440L, first.finished["duel"])
+        assertEquals(first.finished, second.finished)
+    }
+
+    /**
+     * A network holding published messages back until flushed, so that nodes can change a countdown
+     * before seeing each other's changes.
+     */
+    private class QueuedNetwork {
+
+        private val queue = mutableListOf<Pair<Any, CountdownReplicaMessage>>()
+        private val endpoints = mutableListOf<Pair<Any, MutableList<Consumer<CountdownReplicaMessage>>>>()
+
+        fun endpoint(): CountdownTransport {
+            val sender = Any()
+            val listeners = mutableListOf<Consumer<CountdownReplicaMessage>>()
+            endpoints += sender to listeners
+            return object : CountdownTransport {
+                override fun publish(message: CountdownReplicaMessage) {
+                    queue += sender to message
+                }
+
+                override fun subscribe(listener: Consumer<CountdownReplicaMessage>) {
+                    listeners += listener
+                }
+
+                override fun close() {}
+            }
+        }
+
+        fun flush() {
+            while (queue.isNotEmpty()) {
+                val batch = queue.toList()
+                queue.clear()
+                batch.forEach { (sender, message) ->
+                    endpoints.filter { it.first !== sender }.forEach { (_, listeners) ->
+                        listeners.forEach { it.accept(message) }
+                    }
+                }
+            }
+        }
+    }
+}
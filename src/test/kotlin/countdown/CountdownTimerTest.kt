@@ -1,29 +1,53 @@
+package dev.nautchkafe.countdown
+
+import net.kyori.adventure.audience.Audience
+import net.kyori.adventure.bossbar.BossBar
+import net.kyori.adventure.text.Component
+import org.bukkit.Server
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito.CALLS_REAL_METHODS
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.time.Duration
+import java.util.UUID
+import java.util.function.Consumer
+import java.util.logging.Logger
+
 class CountdownTimerTest {
 
     private lateinit var server: Server
+    private lateinit var clock: VirtualCountdownClock
     private lateinit var countdown: CountdownTimer
     private lateinit var alerts: CountdownAlertMapper<String>
 
     @BeforeEach
     fun setUp() {
         server = mock()
+        clock = VirtualCountdownClock()
 
-        countdown = CountdownTimer(server)
+        countdown = CountdownTimer(CountdownScheduler(clock, {}, Logger.getAnonymousLogger(), 2, false))
 
         val tenSecond = Duration.ofSeconds(10)
         val fiveSecond = Duration.ofSeconds(5)
-        alerts = CountdownAlertMapper.fromDurations(Map.of(
-            tenSecond to { id -> server.broadcastMessage("> 10 seconds to start: $id") },
-            fiveSecond to { id -> server.broadcastMessage("> 5 seconds to start: $id") }
+        alerts = CountdownAlertMapper.fromDurations(mapOf(
+            tenSecond to Consumer { id -> server.broadcastMessage("> 10 seconds to start: $id") },
+            fiveSecond to Consumer { id -> server.broadcastMessage("> 5 seconds to start: $id") }
         ))
     }
 
     @Test
     fun `test startPhasedCountdown sends broadcast messages`() {
-        val prepare = CountdownPhase(Duration.ofSeconds(15), alerts.toCountdownTicker())
-        val active = CountdownPhase(Duration.ofSeconds(10)) { id, sec, _ ->
+        val prepare = CountdownPhase(Duration.ofSeconds(15), alerts.toCountdownTicker(), alerts.toCadence())
+        val active = CountdownPhase(Duration.ofSeconds(10), { id, sec, _ ->
             server.broadcastMessage("[$id] Game ongoing... Seconds left: $sec")
-        }
+        }, CountdownCadence.everySecond())
 
         countdown.startPhasedCountdown(
             "countdown-id",
@@ -32,9 +56,11 @@ class CountdownTimerTest {
             { id -> server.broadcastMessage("> Countdown cancelled for: $id") }
         )
 
+        clock.advance(Duration.ofSeconds(26).toMillis() / 50)
+
         verify(server).broadcastMessage("> 10 seconds to start: countdown-id")
         verify(server).broadcastMessage("> 5 seconds to start: countdown-id")
-        verify(server).broadcastMessage("[countdown-id] Game ongoing... Seconds left: 10")
+        verify(server).broadcastMessage("[countdown-id] Game ongoing... Seconds left: 9")
         verify(server).broadcastMessage("> Countdown finished for countdown-id")
     }
 
@@ -53,6 +79,266 @@ class CountdownTimerTest {
         )
 
         countdown.cancel("countdown-id")
+        clock.advance(Duration.ofSeconds(30).toMillis() / 50)
+
         verify(server).broadcastMessage("> Countdown cancelled for: countdown-id")
+        verify(server, never()).broadcastMessage("> Countdown finished for countdown-id")
+    }
+
+    @Test
+    fun `test wall clock policy keeps real time under lag while game tick policy stretches`() {
+        val finishedAt = CountdownTimePolicy.entries.associateWith { policy ->
+            val laggingClock = VirtualCountdownClock()
+            val timer = CountdownTimer(CountdownScheduler(laggingClock, {}, Logger.getAnonymousLogger(), 1, false, policy))
+            var finished = -1L
+
+            val phase = CountdownPhase(Duration.ofSeconds(60), { _, _, _ -> }, CountdownCadence.everySecond())
+            timer.startPhasedCountdown("lagging", listOf(phase), { _, _ -> finished = laggingClock.currentTick() }, { })
+
+            while (finished < 0) {
+                laggingClock.advance(3)
+                laggingClock.stall(1)
+            }
+
+            finished
+        }
+
+        assertTrue(finishedAt.getValue(CountdownTimePolicy.WALL_CLOCK) <= 1_201)
+        assertTrue(finishedAt.getValue(CountdownTimePolicy.GAME_TICK) >= 1_599)
+    }
+
+    @Test
+    fun `test a simulated day of countdowns completes without leaking timers`() {
+        val ticksPerDay = 24L * 60 * 60 * 20
+        var completed = 0
+
+        repeat(10_000) { index ->
+            val phase = CountdownPhase(Duration.ofSeconds(1L + index % 3_600), { _, _, _ -> }, CountdownCadence.everySecond())
+            countdown.startPhasedCountdown("countdown-$index", listOf(phase), { _, _ -> completed++ }, { })
+        }
+
+        clock.advance(ticksPerDay)
+        val report = countdown.diagnoseLeaks()
+        clock.advance(1)
+
+        assertEquals(10_000, completed)
+        assertTrue(report.join().isClean)
+        assertEquals(0, report.join().liveTimers())
+    }
+
+    @Test
+    fun `test a group runs its members on one timer and cancels them together`() {
+        val ticked = mutableListOf<String>()
+        val cancelled = mutableListOf<String>()
+        val phase = CountdownPhase(Duration.ofSeconds(10), { id, _, _ -> ticked.add(id) }, CountdownCadence.everySecond())
+
+        val group = countdown.startGroup("arena", (1..100).map { "player-$it" }, listOf(phase), { _, _ -> }, { id -> cancelled.add(id) })
+        val report = countdown.diagnoseLeaks()
+        clock.advance(20)
+
+        assertEquals(100, group.members().size)
+        assertEquals(1, report.join().liveTimers())
+        assertTrue(report.join().isClean)
+        assertEquals(100, ticked.size)
+
+        group.cancelAll()
+        clock.advance(200)
+
+        assertTrue(group.isDone)
+        assertEquals(100, cancelled.size)
+        assertEquals(100, ticked.size)
+    }
+
+    @Test
+    fun `test an interned plan is compiled once and shared by every countdown`() {
+        var compiled = 0
+        var completed = 0
+        val plan = {
+            countdown.plan("arena") {
+                compiled++
+                listOf(
+                    CountdownPhase(Duration.ofSeconds(15), alerts.toCountdownTicker(), alerts.toCadence()),
+                    CountdownPhase(Duration.ofSeconds(10), { _, _, _ -> }, CountdownCadence.everySecond())
+                )
+            }
+        }
+
+        repeat(3) { index -> countdown.startPhasedCountdown("arena-$index", plan(), { _, _ -> completed++ }, { }) }
+        clock.advance(Duration.ofSeconds(26).toMillis() / 50)
+
+        assertEquals(1, compiled)
+        assertEquals(3, completed)
+        verify(server).broadcastMessage("> 10 seconds to start: arena-2")
+    }
+
+    @Test
+    fun `test keyed countdowns are found and cancelled by their key`() {
+        val player = UUID.randomUUID()
+        val cancelled = mutableListOf<String>()
+        val cooldown = countdown.plan("cooldown") { listOf(CountdownPhase(Duration.ofSeconds(5)) { _, _, _ -> }) }
+
+        countdown.startPhasedCountdown(player, cooldown, { _, _ -> }, { id -> cancelled.add(id) })
+        countdown.startPhasedCountdown(42L, cooldown, { _, _ -> }, { id -> cancelled.add(id) })
+
+        assertTrue(countdown.hasCountdown(player))
+        assertTrue(countdown.hasCountdown(42L))
+        assertTrue(countdown.hasCountdown(player.toString()))
+
+        countdown.cancel(player)
+        clock.advance(101)
+
+        assertEquals(listOf(player.toString()), cancelled)
+        assertTrue(!countdown.hasCountdown(player))
+        assertTrue(!countdown.hasCountdown(42L))
+    }
+
+    @Test
+    fun `test a keyed countdown cancelled by its key while starting is never run`() {
+        val player = UUID.randomUUID()
+        val cancelled = mutableListOf<String>()
+        val completed = mutableListOf<String>()
+        lateinit var keyed: CountdownTimer
+        val journal = object : CountdownJournal by CountdownJournal.none() {
+            override fun started(countdownId: String, phaseTicks: LongArray) = keyed.cancel(player)
+        }
+        keyed = CountdownTimer(CountdownScheduler(clock, {}, Logger.getAnonymousLogger(), 2, false), journal)
+        val cooldown = keyed.plan("cooldown") { listOf(CountdownPhase(Duration.ofSeconds(5)) { _, _, _ -> }) }
+
+        keyed.startPhasedCountdown(player, cooldown, { id, _ -> completed.add(id) }, { id -> cancelled.add(id) })
+        clock.advance(200)
+
+        assertEquals(listOf(player.toString()), cancelled)
+        assertTrue(completed.isEmpty())
+        assertFalse(keyed.hasCountdown(player))
+    }
+
+    @Test
+    fun `test a paused countdown holds its phase until resumed and extended`() {
+        var completed = 0
+        val phase = CountdownPhase(Duration.ofSeconds(5), { _, _, _ -> }, CountdownCadence.everySecond())
+
+        countdown.startPhasedCountdown("duel", listOf(phase), { _, _ -> completed++ }, { })
+        clock.advance(20)
+
+        assertTrue(countdown.pause("duel"))
+        clock.advance(200)
+        assertEquals(0, completed)
+
+        assertTrue(countdown.resume("duel"))
+        assertTrue(countdown.extend("duel", Duration.ofSeconds(2)))
+        clock.advance(100)
+        assertEquals(0, completed)
+
+        clock.advance(30)
+        assertEquals(1, completed)
+        assertTrue(!countdown.pause("duel"))
+    }
+
+    @Test
+    fun `test a display renders each second once for every countdown and viewer`() {
+        val viewers = mock<Audience>(defaultAnswer = CALLS_REAL_METHODS)
+        val renderer = CountdownRenderer.compile("<red>Starts in <seconds>s")
+        val phase = CountdownPhase(Duration.ofSeconds(5), { _, _, _ -> }, CountdownCadence.everyTick())
+            .withDisplay(CountdownDisplay.actionBar(renderer) { viewers })
+
+        repeat(10) { index -> countdown.startPhasedCountdown("match-$index", listOf(phase), { _, _ -> }, { }) }
+        clock.advance(110)
+
+        assertEquals(5L, renderer.parses())
+        verify(viewers, times(50)).sendActionBar(any<Component>())
+    }
+
+    @Test
+    fun `test batched displays send one update per viewer and tick`() {
+        val viewers = mock<Audience>(defaultAnswer = CALLS_REAL_METHODS)
+        val display = CountdownDisplay.actionBar(CountdownRenderer.compile("<seconds>")) { viewers }
+            .batchedThrough(countdown.displays())
+        val phase = CountdownPhase(Duration.ofSeconds(5), { _, _, _ -> }, CountdownCadence.everyTick()).withDisplay(display)
+
+        repeat(10) { index -> countdown.startPhasedCountdown("match-$index", listOf(phase), { _, _ -> }, { }) }
+        clock.advance(110)
+
+        verify(viewers, times(5)).sendActionBar(any<Component>())
+        assertEquals(45L, countdown.displays().replaced())
+    }
+
+    @Test
+    fun `test boss bars are hidden when their phase ends without a final edge or is cancelled`() {
+        val viewers = mock<Audience>(defaultAnswer = CALLS_REAL_METHODS)
+        val display = CountdownDisplay.bossBar(CountdownRenderer.compile("<seconds>"), BossBar.Color.RED,
+            BossBar.Overlay.PROGRESS) { viewers }
+        val phase = CountdownPhase(Duration.ofSeconds(5), { _, _, _ -> },
+            CountdownCadence.milestones(Duration.ofSeconds(3))).withDisplay(display)
+
+        countdown.startPhasedCountdown("milestones", listOf(phase), { _, _ -> }, { })
+        countdown.startPhasedCountdown("cancelled", listOf(phase), { _, _ -> }, { })
+        clock.advance(60)
+        countdown.cancel("cancelled")
+        clock.advance(1)
+
+        verify(viewers, times(2)).showBossBar(any())
+        verify(viewers, times(1)).hideBossBar(any())
+
+        clock.advance(60)
+        verify(viewers, times(2)).hideBossBar(any())
+    }
+
+    @Test
+    fun `test cooldowns are answered from the clock and expire without timers`() {
+        val player = UUID.randomUUID()
+        countdown.startCooldown(player, Duration.ofSeconds(2)) { id, _ -> server.broadcastMessage("> Cooldown over: $id") }
+        countdown.startCooldown("kit", Duration.ofSeconds(1)) { id, _ -> server.broadcastMessage("> Cooldown over: $id") }
+        countdown.cancel("kit")
+
+        clock.advance(20)
+
+        assertTrue(countdown.hasCountdown(player))
+        assertEquals(Duration.ofSeconds(1), countdown.cooldownRemaining(player))
+        assertEquals(0, countdown.shardLoads().sumOf { it.liveTimers() })
+
+        clock.advance(20)
+
+        assertFalse(countdown.hasCountdown(player))
+        verify(server).broadcastMessage("> Cooldown over: $player")
+        verify(server, never()).broadcastMessage("> Cooldown over: kit")
+    }
+
+    @Test
+    fun `test running countdowns are found by deadline and tag`() {
+        val short = countdown.plan("short") { listOf(CountdownPhase(Duration.ofSeconds(5)) { _, _, _ -> }) }
+        val long = countdown.plan("long") { listOf(CountdownPhase(Duration.ofSeconds(30)) { _, _, _ -> }) }
+        countdown.startPhasedCountdown("duel", short, setOf("arena:3"), { _, _ -> }, { })
+        countdown.startPhasedCountdown("match", long, setOf("arena:3", "mode:ffa"), { _, _ -> }, { })
+        countdown.startPhasedCountdown("lobby", long, setOf("arena:4"), { _, _ -> }, { })
+
+        clock.advance(20)
+
+        assertEquals(listOf("duel"), countdown.endingWithin(Duration.ofSeconds(10)).toList())
+        assertEquals(listOf("duel", "match"), countdown.tagged("arena:3").toList())
+        assertEquals(setOf("duel", "match", "lobby"), countdown.taggedWithPrefix("arena:").toList().toSet())
+        assertEquals(Duration.ofSeconds(29), countdown.remaining("match"))
+
+        countdown.cancel("lobby")
+        clock.advance(100)
+
+        assertEquals(listOf("match"), countdown.taggedWithPrefix("arena:").toList())
+    }
+
+    @Test
+    fun `test a failing ticker does not hold the countdown on its edge`() {
+        val fired = mutableListOf<Long>()
+        val phase = CountdownPhase(Duration.ofSeconds(3), { _, _, ticks ->
+            fired += ticks
+            if (ticks == 40L) throw IllegalStateException("ticker failed")
+        }, CountdownCadence.everySecond())
+
+        countdown.startPhasedCountdown("failing", listOf(phase),
+            { id, _ -> server.broadcastMessage("> Countdown finished for $id") }, { })
+
+        clock.advance(400)
+
+        assertEquals(1, fired.count { it == 40L })
+        assertFalse(countdown.hasCountdown("failing"))
+        verify(server).broadcastMessage("> Countdown finished for failing")
     }
-}
\ No newline at end of file
+}
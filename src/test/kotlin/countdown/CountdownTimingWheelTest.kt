@@ -0,0 +1,48 @@
+package dev.nautchkafe.countdown
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.logging.Logger
+
+class CountdownTimingWheelTest {
+
+    private lateinit var wheel: CountdownTimingWheel
+    private var now = 0L
+
+    @BeforeEach
+    fun setUp() {
+        wheel = CountdownTimingWheel(Logger.getAnonymousLogger())
+        now = 0L
+    }
+
+    private fun advance(ticks: Long) {
+        repeat(ticks.toInt()) {
+            now++
+            wheel.advance()
+        }
+    }
+
+    @Test
+    fun `test entries fire exactly at their deadline across all levels`() {
+        val delays = listOf(1L, 63L, 64L, 65L, 4095L, 4096L, 262_143L, 262_144L, (1L shl 24) + 7)
+        val fired = LongArray(delays.size)
+
+        delays.forEachIndexed { index, delay -> wheel.schedule(null, { fired[index] = now }, delay, 0L) }
+        advance((1L shl 24) + 10)
+
+        assertEquals(delays, fired.toList())
+    }
+
+    @Test
+    fun `test periodic entry stops after cancel`() {
+        var runs = 0
+        val entry = wheel.schedule(null, { runs++ }, 0L, 2L)
+
+        advance(10)
+        entry.cancel()
+        advance(10)
+
+        assertEquals(5, runs)
+    }
+}